@@ -0,0 +1,132 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator for the board API: N clients each send a request,
+ * wait for the response and send the next one, for a fixed duration. Prints
+ * throughput and latency percentiles so platform and virtual thread runs of the
+ * server can be compared. Single-file program, no build needed:
+ *
+ *     java loadtest/BoardLoadTest.java --token $JWT --clients 1000 --duration 60
+ *
+ * Clients run on virtual threads, so 10k clients do not need 10k OS threads here.
+ */
+public class BoardLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        URI uri = URI.create(options.getOrDefault("url", "http://localhost:8080/api/items"));
+        String token = options.getOrDefault("token", System.getenv("DAILYBOARD_TOKEN"));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "1000"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        if (token == null) {
+            System.err.println("--token or DAILYBOARD_TOKEN is required");
+            System.exit(2);
+        }
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<long[]> samples = new ArrayList<>(clients);
+        int[] counts = new int[clients];
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                long[] latencies = new long[1024];
+                samples.add(latencies);
+                int client = c;
+                executor.submit(() -> {
+                    long[] own = latencies;
+                    int n = 0;
+                    while (true) {
+                        long sent = System.nanoTime();
+                        if (sent >= stopAt) {
+                            break;
+                        }
+                        boolean ok;
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            ok = response.statusCode() < 400;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long received = System.nanoTime();
+                        if (sent < measureFrom) {
+                            continue;
+                        }
+                        if (!ok) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (n == own.length) {
+                            own = Arrays.copyOf(own, own.length * 2);
+                            samples.set(client, own);
+                        }
+                        own[n++] = received - sent;
+                        counts[client] = n;
+                    }
+                    return null;
+                });
+            }
+        }
+
+        long total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        long[] all = new long[(int) total];
+        int offset = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(samples.get(c), 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+
+        double seconds = duration.toNanos() / 1e9;
+        System.out.printf("url=%s clients=%d duration=%ds%n", uri, clients, duration.toSeconds());
+        System.out.printf("requests=%d errors=%d throughput=%.1f req/s%n", total, errors.get(), total / seconds);
+        System.out.printf("latency ms p50=%.2f p90=%.2f p99=%.2f p999=%.2f max=%.2f%n",
+                percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99),
+                percentile(all, 0.999), all.length == 0 ? 0.0 : all[all.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+}
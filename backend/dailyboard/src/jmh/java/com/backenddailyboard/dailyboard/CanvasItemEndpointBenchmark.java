@@ -0,0 +1,128 @@
+package com.backenddailyboard.dailyboard;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.backenddailyboard.dailyboard.model.CanvasItem;
+import com.backenddailyboard.dailyboard.model.User;
+import com.backenddailyboard.dailyboard.repository.CanvasItemRepository;
+import com.backenddailyboard.dailyboard.repository.UserRepository;
+import com.backenddailyboard.dailyboard.service.BoardSnapshotCache;
+import com.backenddailyboard.dailyboard.util.JwtUtil;
+
+/**
+ * Full GET /api/items path over HTTP: JWT filter, user lookup, JPA query, mapping and
+ * Jackson, against the real application on an in-memory H2 database.
+ *
+ * listItems drops the board snapshot before every call, so it measures the query
+ * path. listItemsCached is the repeat-load case: after warmup the snapshot is served
+ * gzipped as stored, without the server inflating it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CanvasItemEndpointBenchmark {
+
+    private static final String GOOGLE_ID = "benchmark-user";
+
+    @Param({ "100", "10000" })
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private BoardSnapshotCache snapshotCache;
+    private Long userId;
+    private HttpClient httpClient;
+    private HttpRequest listRequest;
+    private HttpRequest gzipListRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Devtools would restart the context in the forked JVM
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = SpringApplication.run(DailyboardApplication.class,
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.security.oauth2.client.registration.google.client-id=benchmark",
+                "--spring.security.oauth2.client.registration.google.client-secret=benchmark",
+                "--blobs.storage-dir=target/benchmark-blobs",
+                "--jwt.secret=benchmarkSecretKeyThatIsLongEnoughForHS256!");
+
+        User user = context.getBean(UserRepository.class).save(new User(GOOGLE_ID, "Benchmark", "bench@example.com"));
+        List<CanvasItem> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            CanvasItem item = new CanvasItem(null, "note", (i % 100) * 220.0, (i / 100) * 160.0, 200, 140, i,
+                    "{\"text\":\"Item " + i + "\",\"color\":\"#ffeb3b\"}");
+            item.setUser(user);
+            items.add(item);
+        }
+        context.getBean(CanvasItemRepository.class).saveAll(items);
+        snapshotCache = context.getBean(BoardSnapshotCache.class);
+        userId = user.getId();
+
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        String token = context.getBean(JwtUtil.class).generateToken(GOOGLE_ID, "bench@example.com");
+        httpClient = HttpClient.newHttpClient();
+        listRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/items"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        gzipListRequest = HttpRequest.newBuilder(listRequest, (name, value) -> true)
+                .header("Accept-Encoding", "gzip")
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] listItems() throws IOException, InterruptedException {
+        snapshotCache.invalidate(userId);
+        return send(listRequest);
+    }
+
+    @Benchmark
+    public byte[] listItemsCached() throws IOException, InterruptedException {
+        return send(gzipListRequest);
+    }
+
+    private byte[] send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /api/items returned " + response.statusCode());
+        }
+        return response.body();
+    }
+}
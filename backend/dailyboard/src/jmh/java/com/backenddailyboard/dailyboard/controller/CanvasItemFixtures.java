@@ -0,0 +1,138 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.backenddailyboard.dailyboard.controller.CanvasItemController.CanvasItemDTO;
+import com.backenddailyboard.dailyboard.model.CanvasItem;
+import com.backenddailyboard.dailyboard.service.GeometryWriteBuffer;
+import com.backenddailyboard.dailyboard.service.StrokeCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Synthetic boards shared by the item benchmarks, with the frontend's item types in
+ * a mix close to a real board and data shaped like what its editors save. Items hold
+ * data as stored, so free_draw strokes are encoded; dtos() gives what clients receive.
+ * "small" data is a freshly edited board, "large" one with long lists and detailed
+ * drawings. Payloads are shared between items of a type so 100k-item boards fit in a
+ * default heap.
+ */
+final class CanvasItemFixtures {
+
+    // Out of every 20 items
+    private static final String[] MIX = {
+            "sticky_note", "sticky_note", "sticky_note", "sticky_note", "sticky_note", "sticky_note",
+            "todo_list", "todo_list", "todo_list",
+            "goal_note", "goal_note",
+            "free_draw", "free_draw", "free_draw", "free_draw",
+            "calendar",
+            "link", "link",
+            "image", "image" };
+
+    private static final StrokeCodec STROKE_CODEC = new StrokeCodec(new ObjectMapper());
+    private static final int STROKE_SCALE = 10;
+
+    private CanvasItemFixtures() {
+    }
+
+    // Data for an item of the given type as the client sends it
+    static String data(String type, String dataSize) {
+        boolean large = "large".equals(dataSize);
+        return switch (type) {
+            case "sticky_note" -> "{\"text\":\"" + text(large ? 400 : 50)
+                    + "\",\"color\":\"#FEEBF6\",\"fontSize\":16}";
+            case "todo_list" -> todoList(large ? 40 : 4);
+            case "goal_note" -> "{\"title\":\"Run a half marathon\",\"description\":\"" + text(large ? 300 : 60)
+                    + "\",\"targetDate\":\"2026-06-01\",\"progress\":35,\"color\":\"#FCD8CD\"}";
+            case "free_draw" -> strokes(large ? 8 : 2, large ? 400 : 60);
+            case "calendar" -> calendar(large ? 60 : 3);
+            case "link" -> "{\"title\":\"Project docs\",\"text\":\"https://example.com/docs/getting-started\","
+                    + "\"fontSize\":16,\"color\":\"#FEEBF6\"}";
+            case "image" -> "{\"blobHash\":\"" + "3f7a9c1e".repeat(8) + "\"}";
+            default -> throw new IllegalArgumentException(type);
+        };
+    }
+
+    static List<CanvasItem> board(int size, String dataSize) {
+        Map<String, String> stored = new HashMap<>();
+        for (String type : MIX) {
+            stored.computeIfAbsent(type, t -> StrokeCodec.FREE_DRAW.equals(t)
+                    ? StrokeCodec.header(STROKE_SCALE) + STROKE_CODEC.encodeLines(data(t, dataSize), STROKE_SCALE)
+                    : data(t, dataSize));
+        }
+
+        List<CanvasItem> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String type = MIX[i % MIX.length];
+            CanvasItem item = new CanvasItem((long) i + 1, type,
+                    (i % 100) * 220.0, (i / 100) * 160.0, 200, 140, i, stored.get(type));
+            item.setUserId(1L);
+            items.add(item);
+        }
+        return items;
+    }
+
+    // The board as sent to clients, strokes decoded
+    static List<CanvasItemDTO> dtos(int size, String dataSize) {
+        CanvasItemMapper mapper = new CanvasItemMapper(new GeometryWriteBuffer(null, null), STROKE_CODEC, null);
+        return board(size, dataSize).stream()
+                .map(mapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    private static String text(int length) {
+        String words = "Buy milk and call the plumber before Friday, then finish the quarterly report. ";
+        return words.repeat(length / words.length() + 1).substring(0, length);
+    }
+
+    private static String todoList(int count) {
+        StringBuilder data = new StringBuilder("{\"title\":\"This week\",\"color\":\"#EBD6FB\",\"items\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                data.append(',');
+            }
+            data.append("{\"id\":\"t").append(i).append("\",\"text\":\"").append(text(30))
+                    .append("\",\"completed\":").append(i % 3 == 0).append('}');
+        }
+        return data.append("]}").toString();
+    }
+
+    // Freehand strokes with sub-pixel points, as the canvas reports pointer moves
+    private static String strokes(int count, int pointsPerStroke) {
+        StringBuilder data = new StringBuilder("{\"strokes\":[");
+        for (int s = 0; s < count; s++) {
+            if (s > 0) {
+                data.append(',');
+            }
+            data.append("{\"points\":[");
+            for (int i = 0; i < pointsPerStroke; i++) {
+                if (i > 0) {
+                    data.append(',');
+                }
+                double x = 10 + i * 0.75 + s * 5;
+                double y = 60 + 40 * Math.sin(i / 9.0 + s) + (i % 7) * 0.13;
+                data.append(Math.round(x * 100) / 100.0).append(',').append(Math.round(y * 100) / 100.0);
+            }
+            data.append("],\"color\":\"#222222\",\"size\":3,\"eraser\":false}");
+        }
+        return data.append("]}").toString();
+    }
+
+    private static String calendar(int events) {
+        StringBuilder data = new StringBuilder("{\"title\":\"Calendar\",\"targetDate\":\"2026-06-01\",\"progress\":0,"
+                + "\"color\":\"#D6EAFB\",\"events\":[");
+        for (int i = 0; i < events; i++) {
+            if (i > 0) {
+                data.append(',');
+            }
+            String day = String.format("2026-03-%02d", i % 28 + 1);
+            data.append("{\"id\":\"event-").append(i).append("@example.com\",\"title\":\"Standup\",")
+                    .append("\"start\":\"").append(day).append("T09:00:00.000Z\",")
+                    .append("\"end\":\"").append(day).append("T09:15:00.000Z\",\"allDay\":false}");
+        }
+        return data.append("]}").toString();
+    }
+}
@@ -0,0 +1,55 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.backenddailyboard.dailyboard.controller.CanvasItemController.CanvasItemDTO;
+import com.backenddailyboard.dailyboard.model.CanvasItem;
+import com.backenddailyboard.dailyboard.service.GeometryWriteBuffer;
+import com.backenddailyboard.dailyboard.service.StrokeCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Entity to DTO mapping as done by getCanvasItems, including the pending geometry lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CanvasItemMappingBenchmark {
+
+    @Param({ "100", "10000", "100000" })
+    private int size;
+
+    private CanvasItemMapper mapper;
+    private List<CanvasItem> items;
+
+    @Setup
+    public void setUp() {
+        // The flush and the write-side metrics are not touched by toDTO
+        mapper = new CanvasItemMapper(new GeometryWriteBuffer(null, null), new StrokeCodec(new ObjectMapper()), null);
+        items = CanvasItemFixtures.board(size, "small");
+    }
+
+    @Benchmark
+    public List<CanvasItemDTO> mapToDTOs() {
+        return items.stream()
+                .map(mapper::toDTO)
+                .collect(Collectors.toList());
+    }
+}
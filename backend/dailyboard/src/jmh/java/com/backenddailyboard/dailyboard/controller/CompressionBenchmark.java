@@ -0,0 +1,69 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.backenddailyboard.dailyboard.controller.CanvasItemController.CanvasItemDTO;
+import com.backenddailyboard.dailyboard.util.ContentCoding;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * CPU cost vs bytes saved for the response codings, on a serialized GET /api/items
+ * body. Time per board comes from JMH; the compressed size and ratio are printed
+ * once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionBenchmark {
+
+    @Param({ "GZIP", "ZSTD" })
+    private ContentCoding coding;
+
+    @Param({ "1", "3", "6", "9" })
+    private int level;
+
+    @Param({ "small", "large" })
+    private String dataSize;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<CanvasItemDTO> dtos = CanvasItemFixtures.dtos(10_000, dataSize);
+        json = objectMapper.writeValueAsBytes(dtos);
+
+        int compressed = compress().length;
+        System.out.printf("%n%s level %d, %s data: %d -> %d bytes (%.1f%%)%n",
+                coding, level, dataSize, json.length, compressed, 100.0 * compressed / json.length);
+    }
+
+    @Benchmark
+    public byte[] compress() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (OutputStream encoder = coding.encoder(out, level)) {
+            encoder.write(json);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,84 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.backenddailyboard.dailyboard.controller.CanvasItemController.CanvasItemCreateDTO;
+import com.backenddailyboard.dailyboard.controller.CanvasItemController.CanvasItemDTO;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * JSON vs CBOR vs Smile for the GET /api/items body: encode and decode time per
+ * board. Encoded sizes are printed once per trial, since JMH has no size metric.
+ * data stays an opaque JSON string in every format, so large-data boards gain
+ * less than the geometry-heavy ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({ "json", "cbor", "smile" })
+    private String format;
+
+    @Param({ "10000" })
+    private int size;
+
+    @Param({ "small", "large" })
+    private String dataSize;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<CanvasItemDTO> dtos;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper mapper = switch (format) {
+            case "cbor" -> json.copyWith(new CBORFactory());
+            case "smile" -> json.copyWith(new SmileFactory());
+            default -> json;
+        };
+        JavaType listType = mapper.getTypeFactory().constructCollectionType(List.class, CanvasItemDTO.class);
+        writer = mapper.writerFor(listType);
+        // Decoded the way a write body is: into the create DTO (unknown fields are ignored)
+        reader = mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class, CanvasItemCreateDTO.class));
+
+        dtos = CanvasItemFixtures.dtos(size, dataSize);
+        encoded = writer.writeValueAsBytes(dtos);
+        System.out.printf("%n%s, %d items, %s data: %d bytes%n", format, size, dataSize, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public List<CanvasItemCreateDTO> decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
@@ -0,0 +1,55 @@
+package com.backenddailyboard.dailyboard;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.backenddailyboard.dailyboard.model.CanvasItem;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Moves canvas_items_seq past the existing ids. Item ids used to come from an identity
+ * column, and Hibernate creates the sequence starting at 1, so on a database that
+ * predates it the first blocks would collide. Runs once the schema is updated and
+ * before the server takes requests; a sequence that is already ahead is left alone,
+ * including blocks other instances have drawn but not used yet.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class CanvasItemSequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(CanvasItemSequenceInitializer.class);
+
+    // The sequence's next value is last_value, or one block past it once nextval was called
+    private static final String ADVANCE_SQL = "SELECT setval('" + CanvasItem.ID_SEQUENCE + "', m.id + 1, false) "
+            + "FROM (SELECT MAX(id) AS id FROM canvas_items) m, " + CanvasItem.ID_SEQUENCE + " s "
+            + "WHERE m.id >= CASE WHEN s.is_called THEN s.last_value + " + CanvasItem.ID_ALLOCATION_SIZE
+            + " ELSE s.last_value END";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CanvasItemSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void advanceSequence() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.queryForList(ADVANCE_SQL, Long.class)
+                    .forEach(next -> log.info("Moved {} to {}", CanvasItem.ID_SEQUENCE, next));
+        } catch (DataAccessException e) {
+            log.warn("Could not advance {}", CanvasItem.ID_SEQUENCE, e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.backenddailyboard.dailyboard;
 
 import com.backenddailyboard.dailyboard.model.User;
 import com.backenddailyboard.dailyboard.repository.UserRepository;
+import com.backenddailyboard.dailyboard.service.UserLookupCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
@@ -18,6 +19,9 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserLookupCache userLookupCache;
+
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
         OAuth2User oAuth2User = super.loadUser(userRequest);
@@ -39,6 +43,7 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
         user.setName(name);
 
         userRepository.save(user);
+        userLookupCache.evict(googleId);
 
         return oAuth2User;
     }
@@ -0,0 +1,61 @@
+package com.backenddailyboard.dailyboard;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the PostgreSQL-specific indexes that JPA's @Index can't express
+ * (GiST, expression and partial indexes). Runs after Hibernate has updated
+ * the schema; every statement is idempotent and built CONCURRENTLY so
+ * startup doesn't block writes on large tables.
+ */
+@Component
+public class DatabaseIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseIndexInitializer.class);
+
+    private static final List<String> POSTGRES_INDEXES = List.of(
+            // Bounding box of each item, used by the viewport query (&& operator)
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_canvas_items_bbox ON canvas_items "
+                    + "USING gist (box(point(x, y), point(x + width, y + height)))",
+            // Undo trash in exactly the order the trim, the trash listing and findTrimmedUntil
+            // use, so they walk the index instead of sorting
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_canvas_items_trash_order ON canvas_items "
+                    + "(user_id, deleted_at DESC NULLS LAST, id DESC) WHERE deleted",
+            // Replaced by idx_canvas_items_trash_order, whose order the trim can use
+            "DROP INDEX CONCURRENTLY IF EXISTS idx_canvas_items_trash",
+            // Live items only, for the default board listing
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_canvas_items_live ON canvas_items "
+                    + "(user_id) WHERE NOT deleted");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatabaseIndexInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            return;
+        }
+
+        for (String ddl : POSTGRES_INDEXES) {
+            try {
+                jdbcTemplate.execute(ddl);
+            } catch (DataAccessException e) {
+                log.warn("Could not create index: {}", ddl, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.backenddailyboard.dailyboard;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * HTTP/2 on the embedded Tomcat (h2c without TLS, so clients can multiplex the many
+ * small item writes over one connection). Body compression is done by
+ * ResponseCompressionFilter / RequestDecompressionFilter, not by Tomcat. Also holds
+ * the multipart limits for image uploads (blobs.max-bytes).
+ */
+@Configuration
+@PropertySource("classpath:http.properties")
+public class HttpConfig {
+}
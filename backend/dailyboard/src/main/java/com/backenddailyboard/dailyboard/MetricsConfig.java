@@ -0,0 +1,15 @@
+package com.backenddailyboard.dailyboard;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * Metrics are exposed on /actuator/prometheus. Actuator already times every MVC endpoint
+ * (http.server.requests), every repository method (spring.data.repository.invocations)
+ * and reports Hikari pool gauges; JwtAuthenticationFilter, ItemMetrics and
+ * RequestQueryMetricsFilter add the rest.
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+}
@@ -0,0 +1,45 @@
+package com.backenddailyboard.dailyboard;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.backenddailyboard.dailyboard.util.RequestQueryCounter;
+
+@Configuration
+public class PersistenceConfig {
+
+    @Value("${items.jdbc.batch-size:50}")
+    private int jdbcBatchSize;
+
+    // Feeds the hibernate.* meters on /actuator/prometheus
+    @Value("${items.metrics.hibernate-statistics:true}")
+    private boolean hibernateStatistics;
+
+    // Group the INSERT/UPDATE/DELETE statements of a flush into JDBC batches. Inserts only
+    // batch for sequence-generated ids (CanvasItem); pooled-lo makes each nextval the first
+    // id of its block, which is also how BoardArchiveService reserves ids for its inserts.
+    // Values set through spring.jpa.properties.* still take precedence.
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", jdbcBatchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+            properties.putIfAbsent("hibernate.jdbc.batch_versioned_data", true);
+            properties.putIfAbsent("hibernate.id.optimizer.pooled.preferred", "pooled-lo");
+        };
+    }
+
+    // Session-factory wide statistics plus per-request query/entity-load counts
+    @Bean
+    public HibernatePropertiesCustomizer metricsCustomizer() {
+        RequestQueryCounter requestQueryCounter = new RequestQueryCounter();
+        return properties -> {
+            properties.putIfAbsent("hibernate.generate_statistics", hibernateStatistics);
+            properties.putIfAbsent("hibernate.session_factory.statement_inspector", requestQueryCounter);
+            properties.putIfAbsent("hibernate.session_factory.interceptor", requestQueryCounter);
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.backenddailyboard.dailyboard;
 
+import com.backenddailyboard.dailyboard.controller.CanvasItemController;
 import com.backenddailyboard.dailyboard.filter.JwtAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -30,6 +31,10 @@ public class SecurityConfig {
             )
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/", "/login**", "/error", "/oauth2/**", "/api/auth/oauth/**").permitAll()
+                // The WebSocket handshake authenticates the JWT itself (JwtHandshakeInterceptor)
+                .requestMatchers("/ws/**").permitAll()
+                // Scrape endpoint; restrict it at the network level or via management.server.port
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 .requestMatchers("/api/**").authenticated()
                 .anyRequest().authenticated()
             )
@@ -57,8 +62,9 @@ public class SecurityConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOriginPatterns(Arrays.asList("http://localhost:3000"));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList(CanvasItemController.SYNC_CURSOR_HEADER, "ETag"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,62 @@
+package com.backenddailyboard.dailyboard;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.task.SimpleAsyncTaskSchedulerBuilder;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Thread model for request handling and background jobs. Platform threads by default;
+ * spring.threads.virtual.enabled=true switches Tomcat, the task executor and the
+ * scheduler below to virtual threads. See README "Virtual threads".
+ */
+@Configuration
+public class ThreadingConfig {
+
+    // @EnableWebSocket registers its own TaskScheduler, which makes Boot skip the default one,
+    // so declare it here for @Scheduled jobs (geometry flush, board sync tick)
+    @Bean(name = "taskScheduler")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskScheduler platformTaskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    // Boot configures this builder for virtual threads when they are enabled
+    @Bean(name = "taskScheduler")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskScheduler virtualTaskScheduler(SimpleAsyncTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    // With virtual threads the connection pool, not the request pool, caps concurrency.
+    // Give it more room unless spring.datasource.hikari.maximum-pool-size is set explicitly,
+    // and fail fast instead of parking thousands of requests on a busy pool.
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public static BeanPostProcessor virtualThreadPoolSizing(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    if (!environment.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+                        dataSource.setMaximumPoolSize(environment.getProperty(
+                                "virtual-threads.hikari.maximum-pool-size", Integer.class, 50));
+                    }
+                    if (!environment.containsProperty("spring.datasource.hikari.connection-timeout")) {
+                        dataSource.setConnectionTimeout(environment.getProperty(
+                                "virtual-threads.hikari.connection-timeout-ms", Long.class, 5000L));
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.backenddailyboard.dailyboard;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+import com.backenddailyboard.dailyboard.websocket.BoardSyncHandler;
+import com.backenddailyboard.dailyboard.websocket.JwtHandshakeInterceptor;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final BoardSyncHandler boardSyncHandler;
+    private final JwtHandshakeInterceptor jwtHandshakeInterceptor;
+
+    public WebSocketConfig(BoardSyncHandler boardSyncHandler, JwtHandshakeInterceptor jwtHandshakeInterceptor) {
+        this.boardSyncHandler = boardSyncHandler;
+        this.jwtHandshakeInterceptor = jwtHandshakeInterceptor;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(boardSyncHandler, "/ws/board")
+                .addInterceptors(jwtHandshakeInterceptor)
+                .setAllowedOrigins("http://localhost:3000");
+    }
+}
@@ -1,6 +1,7 @@
 // AuthController.java
 package com.backenddailyboard.dailyboard.controller;
 
+import com.backenddailyboard.dailyboard.model.AuthenticatedUser;
 import com.backenddailyboard.dailyboard.model.User;
 import com.backenddailyboard.dailyboard.repository.UserRepository;
 import com.backenddailyboard.dailyboard.util.JwtUtil;
@@ -13,7 +14,6 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Map;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/auth/oauth") // ✅ matches your SecurityConfig defaultSuccessUrl
@@ -56,25 +56,24 @@ public class AuthController {
     }
 
     @GetMapping("/user")
-    public ResponseEntity<?> getCurrentUser(@RequestHeader("Authorization") String authHeader) {
-        try {
-            String token = authHeader.substring(7); // Remove "Bearer "
-            String userId = jwtUtil.extractUserId(token);
-            String email = jwtUtil.extractEmail(token);
+    public ResponseEntity<?> getCurrentUser(@AuthenticationPrincipal AuthenticatedUser user) {
+        // Principal is resolved (and cached) by JwtAuthenticationFilter
+        if (user == null) {
+            return ResponseEntity.status(401).body("Invalid token");
+        }
 
-            Optional<User> userOptional = userRepository.findByGoogleId(userId);
-            if (userOptional.isPresent()) {
-                User user = userOptional.get();
+        try {
+            if (user.getId() != null) {
                 return ResponseEntity.ok(Map.of(
                     "userId", user.getGoogleId(),
                     "email", user.getEmail(),
-                    "name", user.getName()
+                    "name", user.getDisplayName()
                 ));
             }
 
             return ResponseEntity.ok(Map.of(
-                "userId", userId,
-                "email", email
+                "userId", user.getGoogleId(),
+                "email", user.getEmail()
             ));
         } catch (Exception e) {
             return ResponseEntity.status(401).body("Invalid token");
@@ -0,0 +1,189 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.backenddailyboard.dailyboard.model.AuthenticatedUser;
+import com.backenddailyboard.dailyboard.model.Blob;
+import com.backenddailyboard.dailyboard.service.BlobStore;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Upload and download of binary item content (images). Items reference a blob by
+ * putting its hash in their data, e.g. {"blobHash": "<sha256>"}, instead of embedding
+ * base64 in canvas_items.data.
+ */
+@RestController
+@RequestMapping("/api/blobs")
+@CrossOrigin(origins = "http://localhost:3000")
+public class BlobController {
+
+    // Tomcat request attributes for zero-copy sendfile (see org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final BlobStore blobStore;
+
+    // Also the servlet multipart limit (http.properties); over it, parsing fails before this
+    // controller runs and RequestTooLargeHandler answers 413
+    @Value("${blobs.max-bytes:10485760}")
+    private long maxBytes;
+
+    public BlobController(BlobStore blobStore) {
+        this.blobStore = blobStore;
+    }
+
+    @PostMapping
+    public ResponseEntity<BlobDTO> uploadBlob(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam("file") MultipartFile file) throws IOException {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (file.getSize() > maxBytes) {
+            return ResponseEntity.status(413).build();
+        }
+
+        Blob blob;
+        try (InputStream in = file.getInputStream()) {
+            blob = blobStore.store(in, file.getContentType());
+        }
+
+        return ResponseEntity.ok(new BlobDTO(blob.getHash(), blob.getContentType(), blob.getSize()));
+    }
+
+    /**
+     * Serves a blob with a strong ETag (the hash itself) and single-range support.
+     * On Tomcat the bytes go out through sendfile; otherwise through FileChannel.transferTo.
+     */
+    @GetMapping("/{hash}")
+    public void downloadBlob(@PathVariable String hash, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Optional<Blob> blobOptional = blobStore.find(hash);
+        if (blobOptional.isEmpty()) {
+            response.sendError(404);
+            return;
+        }
+
+        Blob blob = blobOptional.get();
+        String etag = "\"" + blob.getHash() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=31536000, immutable");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            response.setStatus(304);
+            return;
+        }
+
+        Path path = blobStore.pathFor(blob.getHash());
+        long size = blob.getSize();
+        long start = 0;
+        long end = size - 1;
+
+        // Content never changes for a hash, so If-Range only has to match the ETag
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(etag))) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // Multi-range requests are answered with the full body, which RFC 9110 allows
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(size);
+                    end = ranges.get(0).getRangeEnd(size);
+                    response.setStatus(206);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(416);
+                return;
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentType(blob.getContentType());
+        response.setContentLengthLong(length);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    // DTO returned after an upload
+    public static class BlobDTO {
+        private String hash;
+        private String contentType;
+        private long size;
+
+        public BlobDTO(String hash, String contentType, long size) {
+            this.hash = hash;
+            this.contentType = contentType;
+            this.size = size;
+        }
+
+        // Getters and setters
+        public String getHash() {
+            return hash;
+        }
+
+        public void setHash(String hash) {
+            this.hash = hash;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public void setContentType(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public void setSize(long size) {
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.zip.ZipException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import com.backenddailyboard.dailyboard.controller.CanvasItemController.CanvasItemCreateDTO;
+import com.backenddailyboard.dailyboard.controller.CanvasItemController.CanvasItemDTO;
+import com.backenddailyboard.dailyboard.filter.RequestDecompressionFilter.RequestTooLargeException;
+import com.backenddailyboard.dailyboard.model.AuthenticatedUser;
+import com.backenddailyboard.dailyboard.model.Board;
+import com.backenddailyboard.dailyboard.repository.BoardRepository;
+import com.backenddailyboard.dailyboard.repository.CanvasItemRepository;
+import com.backenddailyboard.dailyboard.repository.UserRepository;
+import com.backenddailyboard.dailyboard.service.BoardArchiveService;
+import com.backenddailyboard.dailyboard.service.BoardArchiveService.ImportLimitException;
+import com.backenddailyboard.dailyboard.service.BoardArchiveService.ImportResult;
+import com.backenddailyboard.dailyboard.service.BoardThumbnailService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Boards and board-level views. A user can split their items across several named
+ * boards; the board-scoped listing reads only the open board's live items, through
+ * the (board_id, deleted) index. Item writes other than creation go through
+ * /api/items/{id} as before.
+ */
+@RestController
+@RequestMapping("/api/boards")
+@CrossOrigin(origins = "http://localhost:3000")
+public class BoardController {
+
+    private final BoardRepository boardRepository;
+    private final UserRepository userRepository;
+    private final CanvasItemRepository canvasItemRepository;
+    private final CanvasItemMapper canvasItemMapper;
+    private final CanvasItemCreator canvasItemCreator;
+    private final BoardThumbnailService boardThumbnailService;
+    private final BoardArchiveService boardArchiveService;
+
+    public BoardController(BoardRepository boardRepository, UserRepository userRepository,
+            CanvasItemRepository canvasItemRepository, CanvasItemMapper canvasItemMapper,
+            CanvasItemCreator canvasItemCreator, BoardThumbnailService boardThumbnailService, BoardArchiveService boardArchiveService) {
+        this.boardRepository = boardRepository;
+        this.userRepository = userRepository;
+        this.canvasItemRepository = canvasItemRepository;
+        this.canvasItemMapper = canvasItemMapper;
+        this.canvasItemCreator = canvasItemCreator;
+        this.boardThumbnailService = boardThumbnailService;
+        this.boardArchiveService = boardArchiveService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<BoardDTO>> getBoards(@AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        List<BoardDTO> boardDTOs = boardRepository.findAllByUserIdOrderByIdAsc(user.getId()).stream()
+                .map(BoardDTO::new)
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(boardDTOs);
+    }
+
+    @PostMapping
+    public ResponseEntity<BoardDTO> createBoard(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestBody BoardDTO boardDTO) {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (boardDTO.getName() == null || boardDTO.getName().isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Board board = new Board(boardDTO.getName(), userRepository.getReferenceById(user.getId()));
+        return ResponseEntity.ok(new BoardDTO(boardRepository.save(board)));
+    }
+
+    @PutMapping("/{boardId}")
+    public ResponseEntity<BoardDTO> renameBoard(@AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long boardId, @RequestBody BoardDTO boardDTO) {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (boardDTO.getName() == null || boardDTO.getName().isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Optional<Board> boardOptional = boardRepository.findById(boardId);
+        if (boardOptional.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Board board = boardOptional.get();
+        if (!board.getUserId().equals(user.getId())) {
+            return ResponseEntity.status(403).build();
+        }
+
+        board.setName(boardDTO.getName());
+        return ResponseEntity.ok(new BoardDTO(boardRepository.save(board)));
+    }
+
+    // Live items of one board only; deleted ones stay reachable through the user's trash
+    @GetMapping("/{boardId}/items")
+    public ResponseEntity<List<CanvasItemDTO>> getBoardItems(@AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long boardId) {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Optional<Board> boardOptional = boardRepository.findById(boardId);
+        if (boardOptional.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!boardOptional.get().getUserId().equals(user.getId())) {
+            return ResponseEntity.status(403).build();
+        }
+
+        List<CanvasItemDTO> itemDTOs = canvasItemRepository.findLiveByBoardId(boardId).stream()
+                .map(canvasItemMapper::toDTO)
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(itemDTOs);
+    }
+
+    // Same as POST /api/items with the board taken from the path
+    @PostMapping("/{boardId}/items")
+    public ResponseEntity<CanvasItemDTO> createBoardItem(@AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long boardId, @RequestBody CanvasItemCreateDTO createDTO) {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        createDTO.setBoardId(boardId);
+        return canvasItemCreator.create(user, createDTO);
+    }
+
+    // Last rendered PNG preview of the whole canvas, every live item as GET /api/items lists
+    // them; 202 while the first one is being rendered
+    @GetMapping("/thumbnail")
+    public ResponseEntity<byte[]> getThumbnail(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+            throws IOException {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return thumbnail(user.getId(), null, ifNoneMatch);
+    }
+
+    // Same for one board's items
+    @GetMapping("/{boardId}/thumbnail")
+    public ResponseEntity<byte[]> getBoardThumbnail(@AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long boardId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+            throws IOException {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Optional<Board> boardOptional = boardRepository.findById(boardId);
+        if (boardOptional.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!boardOptional.get().getUserId().equals(user.getId())) {
+            return ResponseEntity.status(403).build();
+        }
+
+        return thumbnail(user.getId(), boardId, ifNoneMatch);
+    }
+
+    private ResponseEntity<byte[]> thumbnail(Long userId, Long boardId, String ifNoneMatch) throws IOException {
+        Optional<Path> pathOptional = boardThumbnailService.find(userId, boardId);
+        if (pathOptional.isEmpty()) {
+            boardThumbnailService.requestRender(userId, boardId);
+            return ResponseEntity.accepted().build();
+        }
+
+        // The thumbnail changes in place, so clients must revalidate every time
+        String etag = boardThumbnailService.etag(userId, boardId);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(304)
+                    .eTag(etag)
+                    .header(HttpHeaders.CACHE_CONTROL, "private, no-cache")
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .header(HttpHeaders.CACHE_CONTROL, "private, no-cache")
+                .contentType(MediaType.IMAGE_PNG)
+                .body(Files.readAllBytes(pathOptional.get()));
+    }
+
+    /**
+     * Backup of all boards and live items as a zip (see BoardArchiveService), streamed
+     * straight from a database cursor to the response.
+     */
+    @GetMapping("/export")
+    public void exportBoards(@AuthenticationPrincipal AuthenticatedUser user, HttpServletResponse response)
+            throws IOException {
+        if (user == null || user.getId() == null) {
+            response.sendError(404);
+            return;
+        }
+
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"dailyboard-export.zip\"");
+        boardArchiveService.exportBoards(user.getId(), response.getOutputStream());
+    }
+
+    // Restores an export into this account as new boards and items; the body is the raw zip.
+    // A body that isn't a readable archive is the client's mistake (400), not ours; the
+    // import is rolled back either way.
+    @PostMapping(value = "/import", consumes = { "application/zip", MediaType.APPLICATION_OCTET_STREAM_VALUE })
+    public ResponseEntity<ImportResult> importBoards(@AuthenticationPrincipal AuthenticatedUser user,
+            HttpServletRequest request) throws IOException {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        try {
+            return ResponseEntity.ok(boardArchiveService.importBoards(user.getId(), request.getInputStream()));
+        } catch (ImportLimitException | RequestTooLargeException e) {
+            return ResponseEntity.status(413).build();
+        } catch (ZipException | EOFException | JsonProcessingException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // DTOs
+    public static class BoardDTO {
+        private Long id;
+        private String name;
+        private Date createdAt;
+
+        public BoardDTO() {
+        }
+
+        public BoardDTO(Board board) {
+            this.id = board.getId();
+            this.name = board.getName();
+            this.createdAt = board.getCreatedAt();
+        }
+
+        // Getters and setters
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Date getCreatedAt() {
+            return createdAt;
+        }
+
+        public void setCreatedAt(Date createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+}
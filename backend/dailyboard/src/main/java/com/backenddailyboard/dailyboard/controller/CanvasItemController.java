@@ -1,19 +1,66 @@
 package com.backenddailyboard.dailyboard.controller;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import com.backenddailyboard.dailyboard.event.BoardChangeEvent;
+import com.backenddailyboard.dailyboard.model.AuthenticatedUser;
+import com.backenddailyboard.dailyboard.model.Board;
 import com.backenddailyboard.dailyboard.model.CanvasItem;
+import com.backenddailyboard.dailyboard.model.CanvasItemGeometry;
+import com.backenddailyboard.dailyboard.model.TrashedItem;
 import com.backenddailyboard.dailyboard.model.User;
+import com.backenddailyboard.dailyboard.repository.BoardRepository;
 import com.backenddailyboard.dailyboard.repository.CanvasItemRepository;
 import com.backenddailyboard.dailyboard.repository.UserRepository;
+import com.backenddailyboard.dailyboard.service.GeometryWriteBuffer;
+import com.backenddailyboard.dailyboard.service.GeometryWriteBuffer.PendingGeometry;
+import com.backenddailyboard.dailyboard.service.BoardSnapshotCache;
+import com.backenddailyboard.dailyboard.service.BoardSnapshotCache.Snapshot;
+import com.backenddailyboard.dailyboard.service.ItemMetrics;
+import com.backenddailyboard.dailyboard.service.ItemVersionHistory;
+import com.backenddailyboard.dailyboard.service.ItemVersionHistory.Revision;
+import com.backenddailyboard.dailyboard.service.StrokeCodec;
+import com.backenddailyboard.dailyboard.service.StrokeCodec.Stroke;
+import com.backenddailyboard.dailyboard.util.ContentCoding;
+import com.backenddailyboard.dailyboard.util.JsonMerge;
+import com.backenddailyboard.dailyboard.util.WireFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/api/items") // Changed to /api/ for consistency
@@ -22,53 +69,166 @@ public class CanvasItemController {
 
     private final CanvasItemRepository canvasItemRepository;
     private final UserRepository userRepository;
-
-    public CanvasItemController(CanvasItemRepository canvasItemRepository, UserRepository userRepository) {
+    private final BoardRepository boardRepository;
+    private final GeometryWriteBuffer geometryWriteBuffer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ItemMetrics itemMetrics;
+    private final BoardSnapshotCache boardSnapshotCache;
+    private final StrokeCodec strokeCodec;
+    private final ItemVersionHistory itemVersionHistory;
+    private final CanvasItemMapper canvasItemMapper;
+    private final CanvasItemCreator canvasItemCreator;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter itemWriter;
+    private final Map<WireFormat, ObjectWriter> listWriters = new EnumMap<>(WireFormat.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public static final String SYNC_CURSOR_HEADER = "X-Sync-Cursor";
+
+    // A write that loses the race against another one is redone against the new state
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    @Value("${items.trash.default-limit:10}")
+    private int defaultTrashLimit;
+
+    @Value("${items.page.max-size:1000}")
+    private int maxPageSize;
+
+    @Value("${items.data.max-ids:500}")
+    private int maxDataIds;
+
+    @Value("${items.batch.max-operations:500}")
+    private int maxBatchOperations;
+
+    @Value("${http.compression.zstd:true}")
+    private boolean zstdEnabled;
+
+    // Cursors are rewound by this much so rows committed slightly late are not missed
+    @Value("${items.sync.overlap-ms:2000}")
+    private long syncOverlapMs;
+
+    public CanvasItemController(CanvasItemRepository canvasItemRepository, UserRepository userRepository,
+            BoardRepository boardRepository, GeometryWriteBuffer geometryWriteBuffer,
+            ApplicationEventPublisher eventPublisher, ItemMetrics itemMetrics, BoardSnapshotCache boardSnapshotCache,
+            StrokeCodec strokeCodec, ItemVersionHistory itemVersionHistory, CanvasItemMapper canvasItemMapper,
+            CanvasItemCreator canvasItemCreator, ObjectMapper objectMapper) {
         this.canvasItemRepository = canvasItemRepository;
         this.userRepository = userRepository;
+        this.boardRepository = boardRepository;
+        this.geometryWriteBuffer = geometryWriteBuffer;
+        this.eventPublisher = eventPublisher;
+        this.itemMetrics = itemMetrics;
+        this.boardSnapshotCache = boardSnapshotCache;
+        this.strokeCodec = strokeCodec;
+        this.itemVersionHistory = itemVersionHistory;
+        this.canvasItemMapper = canvasItemMapper;
+        this.canvasItemCreator = canvasItemCreator;
+        this.objectMapper = objectMapper;
+        // The servlet stream does the buffering; don't flush after every item
+        this.itemWriter = objectMapper.writerFor(CanvasItemDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        // Binary formats share the JSON mapper's configuration and modules
+        JavaType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, CanvasItemDTO.class);
+        this.listWriters.put(WireFormat.JSON, objectMapper.writerFor(listType));
+        this.listWriters.put(WireFormat.CBOR, objectMapper.copyWith(new CBORFactory()).writerFor(listType));
+        this.listWriters.put(WireFormat.SMILE, objectMapper.copyWith(new SmileFactory()).writerFor(listType));
     }
 
+    /**
+     * Full board, live items only; soft-deleted ones are listed by /trash. The serialized
+     * body is cached per user until the next change to the board, so repeated reloads are
+     * served as bytes and a matching If-None-Match gets a 304 without touching the
+     * database. Sent as JSON, or CBOR / Smile when the client asks for them in Accept.
+     *
+     * The listing modes below are mutually exclusive. A query that mixes them (since
+     * with limit or after, after without limit) matches none of them, lands here and
+     * gets a 400 instead of one mode being picked silently.
+     */
     @GetMapping
-    public ResponseEntity<List<CanvasItemDTO>> getCanvasItems() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String googleId = auth.getName();
-
-        Optional<User> userOptional = userRepository.findByGoogleId(googleId);
-        if (userOptional.isEmpty()) {
+    public ResponseEntity<byte[]> getCanvasItems(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam Map<String, String> params,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
+            throws IOException {
+        if (user == null || user.getId() == null) {
             return ResponseEntity.notFound().build();
         }
+        if (params.containsKey("since") || params.containsKey("limit") || params.containsKey("after")) {
+            return ResponseEntity.badRequest().build();
+        }
 
-        User user = userOptional.get();
-        List<CanvasItem> items = canvasItemRepository.findAllByUserId(user.getId());
+        WireFormat format = WireFormat.negotiate(accept);
+        Snapshot snapshot = boardSnapshotCache.get(user.getId(), format);
+        if (snapshot == null) {
+            long generation = boardSnapshotCache.generation(user.getId());
+            String cursor = nextSyncCursor();
+            List<CanvasItem> items = canvasItemRepository.findLiveByUserId(user.getId());
 
-        List<CanvasItemDTO> itemDTOs = items.stream()
-                .map(item -> new CanvasItemDTO(
-                        item.getId(),
-                        item.getType(),
-                        item.getX(),
-                        item.getY(),
-                        item.getWidth(),
-                        item.getHeight(),
-                        item.getZIndex(),
-                        item.getData(),
-                        item.isDeleted() // Pass deleted flag here!
-                ))
-                .collect(Collectors.toList());
+            List<CanvasItemDTO> itemDTOs = items.stream()
+                    .map(canvasItemMapper::toDTO)
+                    .collect(Collectors.toList());
 
-        return ResponseEntity.ok(itemDTOs);
-    }
+            byte[] body = listWriters.get(format).writeValueAsBytes(itemDTOs);
+            snapshot = boardSnapshotCache.put(user.getId(), format, generation, body, cursor);
+        }
 
-    @PutMapping("/{id}/undelete")
-    public ResponseEntity<Void> undeleteCanvasItem(@PathVariable Long id) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String googleId = auth.getName();
+        // Same negotiation as ResponseCompressionFilter, which compresses the identity body otherwise
+        boolean gzipEncoded = snapshot.isGzipped()
+                && ContentCoding.negotiate(acceptEncoding, zstdEnabled) == ContentCoding.GZIP;
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(304)
+                    .eTag(snapshot.etag(gzipEncoded))
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .header(SYNC_CURSOR_HEADER, snapshot.getSyncCursor())
+                    .build();
+        }
 
-        Optional<User> userOptional = userRepository.findByGoogleId(googleId);
-        if (userOptional.isEmpty()) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(snapshot.etag(gzipEncoded))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .header(SYNC_CURSOR_HEADER, snapshot.getSyncCursor());
+        if (gzipEncoded) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return response
+                .contentType(format.getMediaType())
+                .body(gzipEncoded ? snapshot.getBody() : snapshot.identityBody());
+    }
+
+    /**
+     * Layout-only listing: every live item without its data, from a projection query
+     * that never reads the data column. Clients paint the board from this and fetch
+     * content for the items in view through /data.
+     */
+    @GetMapping(params = { "fields=geometry", "!since", "!limit", "!after" })
+    public ResponseEntity<List<CanvasItemGeometry>> getCanvasItemGeometry(
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null || user.getId() == null) {
             return ResponseEntity.notFound().build();
         }
 
-        User user = userOptional.get();
+        String cursor = nextSyncCursor();
+        List<CanvasItemGeometry> geometry = canvasItemRepository.findLiveGeometryByUserId(user.getId()).stream()
+                .map(g -> canvasItemMapper.withPending(user.getId(), g))
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok()
+                .header(SYNC_CURSOR_HEADER, cursor)
+                .body(geometry);
+    }
+
+    // Content of one live item, for an item scrolled into view; deleted items are only
+    // reachable through the trash
+    @GetMapping("/{id}/data")
+    public ResponseEntity<CanvasItemDataDTO> getCanvasItemData(@AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long id, @RequestParam(required = false) Double zoom) {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
 
         Optional<CanvasItem> itemOptional = canvasItemRepository.findById(id);
         if (itemOptional.isEmpty()) {
@@ -79,114 +239,300 @@ public class CanvasItemController {
         if (item.getUserId() == null || !item.getUserId().equals(user.getId())) {
             return ResponseEntity.status(403).build();
         }
+        if (item.isDeleted()) {
+            return ResponseEntity.notFound().build();
+        }
 
-        item.setDeleted(false);
-        item.setDeletedAt(null);
-        canvasItemRepository.save(item);
+        return ResponseEntity.ok(
+                new CanvasItemDataDTO(item.getId(), canvasItemMapper.clientData(item, zoom), item.getVersion()));
+    }
 
-        return ResponseEntity.ok().build();
+    // Content of the visible items in one query; ids that don't exist, are deleted or aren't owned are left out
+    @PostMapping("/data")
+    public ResponseEntity<List<CanvasItemDataDTO>> getCanvasItemsData(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestBody List<Long> ids, @RequestParam(required = false) Double zoom) {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (ids.size() > maxDataIds) {
+            return ResponseEntity.status(413).build();
+        }
+        if (ids.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+
+        List<CanvasItemDataDTO> dataDTOs = canvasItemRepository.findLiveByUserIdAndIdIn(user.getId(), ids).stream()
+                .map(item -> new CanvasItemDataDTO(item.getId(), canvasItemMapper.clientData(item, zoom),
+                        item.getVersion()))
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(dataDTOs);
     }
 
-    @PostMapping
-    public ResponseEntity<CanvasItemDTO> createCanvasItem(@RequestBody CanvasItemCreateDTO createDTO) {
-        // Get current authenticated user
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String googleId = auth.getName();
-        Optional<User> userOptional = userRepository.findByGoogleId(googleId);
-        if (userOptional.isEmpty()) {
+    /**
+     * Keyset-paginated listing for very large boards: up to limit items ordered by id,
+     * starting after the given cursor. Each page is one index range scan, so deep pages
+     * cost the same as the first. next is null on the last page. Only the first page
+     * carries the sync cursor, which covers everything written while paging.
+     */
+    @GetMapping(params = { "limit", "!since" })
+    public ResponseEntity<CanvasItemPageDTO> getCanvasItemPage(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam int limit, @RequestParam(required = false) Long after) {
+        if (user == null || user.getId() == null) {
             return ResponseEntity.notFound().build();
         }
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
 
-        User user = userOptional.get();
+        int pageSize = Math.min(limit, maxPageSize);
+        String cursor = after == null ? nextSyncCursor() : null;
+        // One extra row tells whether another page follows, without a count query
+        List<CanvasItem> items = canvasItemRepository.findPage(user.getId(), after == null ? 0L : after,
+                Limit.of(pageSize + 1));
 
-        // Create new canvas item
-        CanvasItem item = new CanvasItem();
-        item.setType(createDTO.getType());
-        item.setX(createDTO.getX());
-        item.setY(createDTO.getY());
-        item.setWidth(createDTO.getWidth());
-        item.setHeight(createDTO.getHeight());
-        item.setZIndex(createDTO.getZIndex());
-        item.setData(createDTO.getData());
-        item.setUser(user); // Associate with current user
+        boolean more = items.size() > pageSize;
+        List<CanvasItemDTO> itemDTOs = items.stream()
+                .limit(pageSize)
+                .map(canvasItemMapper::toDTO)
+                .collect(Collectors.toList());
+        String next = more ? Long.toString(itemDTOs.get(itemDTOs.size() - 1).getId()) : null;
 
-        CanvasItem savedItem = canvasItemRepository.save(item);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (cursor != null) {
+            response.header(SYNC_CURSOR_HEADER, cursor);
+        }
+        return response.body(new CanvasItemPageDTO(itemDTOs, next));
+    }
 
-        CanvasItemDTO responseDTO = new CanvasItemDTO(
-                savedItem.getId(),
-                savedItem.getType(),
-                savedItem.getX(),
-                savedItem.getY(),
-                savedItem.getWidth(),
-                savedItem.getHeight(),
-                savedItem.getZIndex(),
-                savedItem.getData(),
-                savedItem.isDeleted());
+    /**
+     * Viewport query: only live items whose x/y/width/height box intersects the given
+     * region, so the client can page the canvas in as the user pans. With zoom below 1,
+     * free-draw strokes come back simplified for that scale.
+     */
+    @GetMapping(params = { "minX", "minY", "maxX", "maxY", "!since", "!limit", "!after" })
+    public ResponseEntity<List<CanvasItemDTO>> getCanvasItemsInViewport(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam double minX, @RequestParam double minY,
+            @RequestParam double maxX, @RequestParam double maxY,
+            @RequestParam(required = false) Double zoom) {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (minX > maxX || minY > maxY) {
+            return ResponseEntity.badRequest().build();
+        }
 
-        return ResponseEntity.ok(responseDTO);
+        List<CanvasItem> items = canvasItemRepository.findInViewport(user.getId(), minX, minY, maxX, maxY);
+
+        List<CanvasItemDTO> itemDTOs = items.stream()
+                .map(item -> canvasItemMapper.toDTO(item, zoom))
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(itemDTOs);
     }
 
-    @PutMapping("/{id}")
-    public ResponseEntity<CanvasItemDTO> updateCanvasItem(@PathVariable Long id,
-            @RequestBody CanvasItemUpdateDTO updateDTO) {
-        // Get current authenticated user
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String googleId = auth.getName();
-
-        Optional<User> userOptional = userRepository.findByGoogleId(googleId);
-        if (userOptional.isEmpty()) {
+    /**
+     * Streaming variant of the full listing for large boards. Rows are read through a
+     * forward-only cursor and each DTO is written to the response as soon as it is mapped,
+     * then detached, so memory stays flat regardless of board size. Sends a JSON array by
+     * default, or one item per line when the client accepts application/x-ndjson.
+     */
+    @GetMapping(value = "/stream", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(readOnly = true)
+    public void streamCanvasItems(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestHeader(value = "Accept", required = false) String accept,
+            HttpServletResponse response) throws IOException {
+        if (user == null || user.getId() == null) {
+            response.sendError(404);
+            return;
+        }
+
+        boolean ndjson = accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setContentType(ndjson ? MediaType.APPLICATION_NDJSON_VALUE : MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(SYNC_CURSOR_HEADER, nextSyncCursor());
+
+        try (Stream<CanvasItem> items = canvasItemRepository.streamLiveByUserId(user.getId());
+                JsonGenerator generator = itemWriter.createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            if (!ndjson) {
+                generator.writeStartArray();
+            }
+
+            for (CanvasItem item : (Iterable<CanvasItem>) items::iterator) {
+                itemWriter.writeValue(generator, canvasItemMapper.toDTO(item));
+                if (ndjson) {
+                    generator.writeRaw('\n');
+                }
+                entityManager.detach(item);
+            }
+
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    /**
+     * Delta sync: returns only the items created, changed or soft-deleted since the
+     * cursor handed out by a previous full or delta load, plus the cursor to use next.
+     * Responses may repeat items near the cursor boundary; clients upsert by id.
+     *
+     * Trash trims hard-delete tombstones. A cursor at or before the newest one trimmed
+     * may have missed a deletion that can no longer be reported, so it gets 410 and the
+     * client reloads the board in full.
+     */
+    @GetMapping(params = { "since", "!limit", "!after" })
+    public ResponseEntity<CanvasItemDeltaDTO> getCanvasItemsSince(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam String since) {
+        if (user == null || user.getId() == null) {
             return ResponseEntity.notFound().build();
         }
 
-        User user = userOptional.get();
+        long sinceMillis;
+        try {
+            sinceMillis = Long.parseLong(since);
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Date purgedUntil = userRepository.findTrashPurgedUntil(user.getId());
+        if (purgedUntil != null && purgedUntil.getTime() >= sinceMillis) {
+            return ResponseEntity.status(410).build();
+        }
+
+        String cursor = nextSyncCursor();
+        List<CanvasItem> items = canvasItemRepository.findChangedSince(user.getId(), new Date(sinceMillis));
+
+        List<CanvasItemDTO> itemDTOs = items.stream()
+                .map(canvasItemMapper::toDTO)
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(new CanvasItemDeltaDTO(itemDTOs, cursor));
+    }
+
+    // The undo stack, newest first: just enough to offer and perform an undelete
+    @GetMapping("/trash")
+    public ResponseEntity<List<TrashedItem>> getTrash(@AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(canvasItemRepository.findTrash(user.getId()));
+    }
+
+    @PutMapping("/{id}/undelete")
+    public ResponseEntity<Void> undeleteCanvasItem(@AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long id) {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
 
-        // Find item and verify ownership
         Optional<CanvasItem> itemOptional = canvasItemRepository.findById(id);
         if (itemOptional.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
         CanvasItem item = itemOptional.get();
-        if (!item.getUserId().equals(user.getId())) {
-            return ResponseEntity.status(403).build(); // Forbidden - not the owner
+        if (item.getUserId() == null || !item.getUserId().equals(user.getId())) {
+            return ResponseEntity.status(403).build();
         }
 
-        // Update item
-        item.setType(updateDTO.getType());
-        item.setX(updateDTO.getX());
-        item.setY(updateDTO.getY());
-        item.setWidth(updateDTO.getWidth());
-        item.setHeight(updateDTO.getHeight());
-        item.setZIndex(updateDTO.getZIndex());
-        item.setData(updateDTO.getData());
-
+        item.setDeleted(false);
+        item.setDeletedAt(null);
         CanvasItem savedItem = canvasItemRepository.save(item);
+        CanvasItemDTO itemDTO = canvasItemMapper.toDTO(savedItem);
+        remember(itemDTO);
+        publish(user, savedItem.getId(), BoardChangeEvent.Kind.UPSERT, itemDTO);
 
-        CanvasItemDTO responseDTO = new CanvasItemDTO(
-                savedItem.getId(),
-                savedItem.getType(),
-                savedItem.getX(),
-                savedItem.getY(),
-                savedItem.getWidth(),
-                savedItem.getHeight(),
-                savedItem.getZIndex(),
-                savedItem.getData(),
-                savedItem.isDeleted());
-
-        return ResponseEntity.ok(responseDTO);
+        return ResponseEntity.ok().build();
     }
 
-    @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteCanvasItem(@PathVariable Long id) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String googleId = auth.getName();
+    @PostMapping
+    public ResponseEntity<CanvasItemDTO> createCanvasItem(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestBody CanvasItemCreateDTO createDTO) {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
 
-        Optional<User> userOptional = userRepository.findByGoogleId(googleId);
-        if (userOptional.isEmpty()) {
+        return canvasItemCreator.create(user, createDTO);
+    }
+
+    /**
+     * Full update. Unconditional unless the client names the version its edit started
+     * from, in If-Match ("<version>" as sent in ETag) or in the body. If the item has
+     * moved on since, the edit is merged onto the current state: geometry fields the
+     * edit changed win, data is merged field by field (todo items by id). When both
+     * sides changed the same thing differently the answer is 409 with the current item.
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<CanvasItemDTO> updateCanvasItem(@AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long id, @RequestBody CanvasItemUpdateDTO updateDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (user == null || user.getId() == null) {
             return ResponseEntity.notFound().build();
         }
 
-        User user = userOptional.get();
+        Long expectedVersion;
+        try {
+            expectedVersion = ifMatch != null ? parseVersion(ifMatch) : updateDTO.getVersion();
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        for (int attempt = 1;; attempt++) {
+            // Find item and verify ownership
+            Optional<CanvasItem> itemOptional = canvasItemRepository.findById(id);
+            if (itemOptional.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            CanvasItem item = itemOptional.get();
+            if (!item.getUserId().equals(user.getId())) {
+                return ResponseEntity.status(403).build(); // Forbidden - not the owner
+            }
+
+            // Merged into a copy, so a retry starts again from what the client sent
+            CanvasItemCreateDTO fields = copyFields(updateDTO);
+            if (expectedVersion != null && expectedVersion != item.getVersion()
+                    && !mergeStale(item, expectedVersion, fields)) {
+                return ResponseEntity.status(409).body(canvasItemMapper.toDTO(item));
+            }
+
+            // Update item; a full write supersedes any buffered drag/resize geometry
+            geometryWriteBuffer.discard(user.getId(), id);
+            canvasItemMapper.applyFields(item, fields);
+
+            CanvasItem savedItem;
+            try {
+                savedItem = canvasItemRepository.save(item);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt < MAX_WRITE_ATTEMPTS) {
+                    continue;
+                }
+                return ResponseEntity.status(409)
+                        .body(canvasItemRepository.findById(id).map(canvasItemMapper::toDTO).orElse(null));
+            }
+
+            CanvasItemDTO responseDTO = canvasItemMapper.toDTO(savedItem);
+            remember(responseDTO);
+            publish(user, savedItem.getId(), BoardChangeEvent.Kind.UPSERT, responseDTO);
+
+            return ResponseEntity.ok()
+                    .eTag("\"" + savedItem.getVersion() + "\"")
+                    .body(responseDTO);
+        }
+    }
+
+    // One transaction for the soft delete and the trim, so the trash never stays over its limit
+    @DeleteMapping("/{id}")
+    @Transactional
+    public ResponseEntity<Void> deleteCanvasItem(@AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long id) {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
 
         Optional<CanvasItem> itemOptional = canvasItemRepository.findById(id);
         if (itemOptional.isEmpty()) {
@@ -199,23 +545,434 @@ public class CanvasItemController {
         }
 
         // Soft-delete
+        geometryWriteBuffer.discard(user.getId(), id);
         item.setDeleted(true);
         item.setDeletedAt(new Date());
         canvasItemRepository.save(item);
+        trimTrash(user);
 
-        // Enforce FILO stack size
-        final int MAX_SOFT_DELETED = 10;
-        List<CanvasItem> softDeletedItems = canvasItemRepository.findSoftDeletedItems(user.getId());
+        // After the trim, so nothing rebuilt from this event still lists trimmed rows
+        publish(user, id, BoardChangeEvent.Kind.DELETE, null);
+
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Partial update: only fields present in the body are written, via targeted UPDATE
+     * statements, so a move never loads or rewrites the data column. The response leaves
+     * data out unless includeData=true is passed.
+     */
+    @PatchMapping("/{id}")
+    @Transactional
+    public ResponseEntity<?> patchCanvasItem(@AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long id, @RequestBody CanvasItemPatchDTO patchDTO,
+            @RequestParam(defaultValue = "false") boolean includeData) {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
 
-        if (softDeletedItems.size() > MAX_SOFT_DELETED) {
-            int toRemove = softDeletedItems.size() - MAX_SOFT_DELETED;
-            List<CanvasItem> toDelete = softDeletedItems.subList(0, toRemove);
-            canvasItemRepository.deleteAll(toDelete);
+        // Fold any buffered drag/resize geometry into this write instead of racing it
+        PendingGeometry pending = geometryWriteBuffer.take(user.getId(), id);
+        Date now = new Date();
+
+        int updated = canvasItemRepository.patchFields(id, user.getId(),
+                patchDTO.getType(),
+                orPending(patchDTO.getX(), pending == null ? null : pending.getX()),
+                orPending(patchDTO.getY(), pending == null ? null : pending.getY()),
+                orPending(patchDTO.getWidth(), pending == null ? null : pending.getWidth()),
+                orPending(patchDTO.getHeight(), pending == null ? null : pending.getHeight()),
+                orPending(patchDTO.getZIndex(), pending == null ? null : pending.getZIndex()),
+                now);
+        if (updated == 0) {
+            return canvasItemRepository.existsById(id)
+                    ? ResponseEntity.status(403).build()
+                    : ResponseEntity.notFound().build();
         }
 
+        if (patchDTO.getData() != null) {
+            // A data-only patch doesn't carry the type; the projection read skips the data column
+            String type = patchDTO.getType() != null
+                    ? patchDTO.getType()
+                    : canvasItemRepository.findGeometryById(id).map(CanvasItemGeometry::getType).orElse(null);
+            itemMetrics.recordDataSize(type, patchDTO.getData());
+            canvasItemRepository.updateData(id, user.getId(), canvasItemMapper.storedData(type, patchDTO.getData()),
+                    now);
+        }
+        publish(user, id, BoardChangeEvent.Kind.PATCH, patchDTO);
+
+        if (includeData) {
+            Optional<CanvasItemDTO> itemDTO = canvasItemRepository.findById(id).map(canvasItemMapper::toDTO);
+            itemDTO.ifPresent(this::remember);
+            return ResponseEntity.of(itemDTO);
+        }
+
+        Optional<CanvasItemGeometry> geometry = canvasItemRepository.findGeometryById(id);
+        if (patchDTO.getData() != null) {
+            // Our UPDATE holds the row lock, so this is the version the data was written at
+            geometry.ifPresent(g -> rememberPatch(g, patchDTO.getData()));
+        }
+        return ResponseEntity.of(geometry);
+    }
+
+    /**
+     * Geometry-only update for drag/resize. The write is buffered and merged with other
+     * updates to the same item, then flushed in a batched UPDATE by GeometryWriteBuffer.
+     * Ownership is enforced by the flush itself (WHERE user_id = ?), so no row is loaded here.
+     */
+    @PutMapping("/{id}/geometry")
+    public ResponseEntity<Void> updateCanvasItemGeometry(@AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long id, @RequestBody GeometryUpdateDTO geometryDTO) {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        geometryWriteBuffer.submit(user.getId(), id,
+                geometryDTO.getX(),
+                geometryDTO.getY(),
+                geometryDTO.getWidth(),
+                geometryDTO.getHeight(),
+                geometryDTO.getZIndex());
+        publish(user, id, BoardChangeEvent.Kind.PATCH, geometryDTO);
+
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Adds strokes to a free_draw item. The body takes the same shapes as free_draw data
+     * (one stroke, {"strokes":[...]} or an array). Only the new strokes are encoded and
+     * they are concatenated onto the stored data in SQL, so earlier strokes are neither
+     * re-sent nor re-encoded.
+     */
+    @PostMapping("/{id}/strokes")
+    public ResponseEntity<Void> appendStrokes(@AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long id, @RequestBody String strokes) {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // Parsed and simplified once; only the packing depends on the scale of the stored data
+        List<Stroke> parsed = strokeCodec.parse(strokes);
+        if (parsed == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        int scale = strokeCodec.getScale();
+        String lines = strokeCodec.encodeLines(parsed, scale);
+        int updated = canvasItemRepository.appendStrokeLines(id, user.getId(), lines,
+                StrokeCodec.header(scale) + "%", new Date());
+        if (updated == 0) {
+            // Missing, not owned, not a drawing, or stored in another format: take the slow path
+            Optional<CanvasItem> itemOptional = canvasItemRepository.findById(id);
+            if (itemOptional.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            CanvasItem item = itemOptional.get();
+            if (item.getUserId() == null || !item.getUserId().equals(user.getId())) {
+                return ResponseEntity.status(403).build();
+            }
+            if (!StrokeCodec.FREE_DRAW.equals(item.getType())) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            String existing = strokeCodec.encode(item.getData());
+            if (existing == null || existing.isBlank()) {
+                existing = StrokeCodec.header(scale);
+            } else if (!StrokeCodec.isEncoded(existing)) {
+                return ResponseEntity.status(409).build();
+            }
+            scale = strokeCodec.scaleOf(existing);
+            lines = strokeCodec.encodeLines(parsed, scale);
+            item.setData(existing + lines);
+            canvasItemRepository.save(item);
+        }
+
+        // Drawings aren't merged; a stale full write of this item gets a 409
+        itemVersionHistory.forget(id);
+
+        // Live clients only get the new strokes
+        publish(user, id, BoardChangeEvent.Kind.PATCH,
+                Map.of("appendedStrokes", strokeCodec.toClientStrokes(parsed, scale)));
+
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Applies a mixed list of create/update/delete operations in a single transaction.
+     * The user is resolved once and every targeted row is loaded with one query, so the
+     * cost no longer scales with one round trip per item. Each operation gets its own
+     * result entry; a failed ownership check does not abort the rest of the batch.
+     */
+    @PostMapping("/batch")
+    @Transactional
+    public ResponseEntity<List<BatchResultDTO>> applyBatch(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestBody List<BatchOperationDTO> operations) {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (operations.size() > maxBatchOperations) {
+            return ResponseEntity.status(413).build();
+        }
+
+        User owner = userRepository.getReferenceById(user.getId());
+
+        // Load every row touched by an update or delete in one query
+        Set<Long> targetIds = new LinkedHashSet<>();
+        for (BatchOperationDTO operation : operations) {
+            if (operation.getId() != null && !BatchOperationDTO.CREATE.equals(operation.getOp())) {
+                targetIds.add(operation.getId());
+            }
+        }
+        Map<Long, CanvasItem> targets = canvasItemRepository.findAllById(targetIds).stream()
+                .collect(Collectors.toMap(CanvasItem::getId, Function.identity()));
+
+        // Same for the boards that creates go into
+        Set<Long> boardIds = new LinkedHashSet<>();
+        for (BatchOperationDTO operation : operations) {
+            if (operation.getBoardId() != null && BatchOperationDTO.CREATE.equals(operation.getOp())) {
+                boardIds.add(operation.getBoardId());
+            }
+        }
+        Map<Long, Board> boards = boardIds.isEmpty() ? Map.of() : boardRepository.findAllById(boardIds).stream()
+                .collect(Collectors.toMap(Board::getId, Function.identity()));
+
+        List<BatchResultDTO> results = new ArrayList<>(operations.size());
+        List<CanvasItem> created = new ArrayList<>();
+        Map<CanvasItem, CanvasItemDTO> updated = new LinkedHashMap<>();
+        boolean anyDeleted = false;
+
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperationDTO operation = operations.get(i);
+            String op = operation.getOp();
+
+            if (BatchOperationDTO.CREATE.equals(op)) {
+                Board board = null;
+                if (operation.getBoardId() != null) {
+                    board = boards.get(operation.getBoardId());
+                    if (board == null) {
+                        results.add(new BatchResultDTO(i, op, null, 404, null));
+                        continue;
+                    }
+                    if (!board.getUserId().equals(user.getId())) {
+                        results.add(new BatchResultDTO(i, op, null, 403, null));
+                        continue;
+                    }
+                }
+
+                CanvasItem item = canvasItemMapper.newItem(operation);
+                item.setUser(owner);
+                item.setBoard(board);
+                created.add(item);
+                results.add(new BatchResultDTO(i, op, null, 200, null));
+                continue;
+            }
+
+            if (!BatchOperationDTO.UPDATE.equals(op) && !BatchOperationDTO.DELETE.equals(op)) {
+                results.add(new BatchResultDTO(i, op, operation.getId(), 400, null));
+                continue;
+            }
+
+            CanvasItem item = operation.getId() == null ? null : targets.get(operation.getId());
+            if (item == null) {
+                results.add(new BatchResultDTO(i, op, operation.getId(), 404, null));
+                continue;
+            }
+            if (item.getUserId() == null || !item.getUserId().equals(user.getId())) {
+                results.add(new BatchResultDTO(i, op, item.getId(), 403, null));
+                continue;
+            }
+
+            if (BatchOperationDTO.UPDATE.equals(op)) {
+                Long expectedVersion = operation.getVersion();
+                if (expectedVersion != null && expectedVersion != item.getVersion()
+                        && !mergeStale(item, expectedVersion, operation)) {
+                    results.add(new BatchResultDTO(i, op, item.getId(), 409, canvasItemMapper.toDTO(item)));
+                    continue;
+                }
+
+                // Managed entity; flushed as part of the batched UPDATEs below
+                geometryWriteBuffer.discard(user.getId(), item.getId());
+                canvasItemMapper.applyFields(item, operation);
+                CanvasItemDTO itemDTO = canvasItemMapper.toDTO(item);
+                updated.put(item, itemDTO);
+                publish(user, item.getId(), BoardChangeEvent.Kind.UPSERT, itemDTO);
+                results.add(new BatchResultDTO(i, op, item.getId(), 200, itemDTO));
+            } else {
+                geometryWriteBuffer.discard(user.getId(), item.getId());
+                item.setDeleted(true);
+                item.setDeletedAt(new Date());
+                anyDeleted = true;
+                publish(user, item.getId(), BoardChangeEvent.Kind.DELETE, null);
+                results.add(new BatchResultDTO(i, op, item.getId(), 200, null));
+            }
+        }
+
+        if (!updated.isEmpty()) {
+            // The flush bumps the versions; the DTOs are still unsent, so fix them up in place
+            canvasItemRepository.flush();
+            updated.forEach((item, itemDTO) -> {
+                itemDTO.setVersion(item.getVersion());
+                remember(itemDTO);
+            });
+        }
+
+        if (!created.isEmpty()) {
+            List<CanvasItem> savedItems = canvasItemRepository.saveAll(created);
+            int next = 0;
+            for (BatchResultDTO result : results) {
+                if (BatchOperationDTO.CREATE.equals(result.getOp())) {
+                    CanvasItem savedItem = savedItems.get(next++);
+                    result.setId(savedItem.getId());
+                    result.setItem(canvasItemMapper.toDTO(savedItem));
+                    remember(result.getItem());
+                    publish(user, savedItem.getId(), BoardChangeEvent.Kind.UPSERT, result.getItem());
+                }
+            }
+        }
+
+        if (anyDeleted) {
+            canvasItemRepository.flush();
+            trimTrash(user);
+        }
+
+        return ResponseEntity.ok(results);
+    }
+
+    // Only reached when a batch loses a race at flush time; the whole batch is rolled back
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleConcurrentWrite() {
+        return ResponseEntity.status(409).build();
+    }
+
+    // Listeners (live sync etc.) run after commit when there is a transaction
+    private void publish(AuthenticatedUser user, Long itemId, BoardChangeEvent.Kind kind, Object payload) {
+        eventPublisher.publishEvent(new BoardChangeEvent(user.getId(), itemId, kind, payload));
+    }
+
+    private static <T> T orPending(T requested, T pending) {
+        return requested != null ? requested : pending;
+    }
+
+    // Accepts "3", W/"3", "3-gzip" or a bare 3; "*" matches any version
+    private static Long parseVersion(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = ContentCoding.identityEtag(tag);
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        return Long.parseLong(tag);
+    }
+
+    // Keeps what clients were sent, so later writes based on this version can be merged
+    private void remember(CanvasItemDTO itemDTO) {
+        itemVersionHistory.record(itemDTO.getId(), canvasItemMapper.toRevision(itemDTO));
+    }
+
+    private void rememberPatch(CanvasItemGeometry geometry, String data) {
+        if (StrokeCodec.FREE_DRAW.equals(geometry.getType())) {
+            // Stored re-encoded, so the client's copy isn't what later reads return
+            itemVersionHistory.forget(geometry.getId());
+            return;
+        }
+        itemVersionHistory.record(geometry.getId(), new Revision(geometry.getVersion(), geometry.getType(),
+                geometry.getX(), geometry.getY(), geometry.getWidth(), geometry.getHeight(), geometry.getZIndex(),
+                data));
+    }
+
+    /**
+     * Rewrites a write based on an older version so it applies on top of the current
+     * item: fields it didn't change take the current value. Returns false if the base
+     * version is no longer known or both sides changed the type or the same data field.
+     */
+    private boolean mergeStale(CanvasItem item, long baseVersion, CanvasItemCreateDTO incoming) {
+        Revision base = itemVersionHistory.find(item.getId(), baseVersion);
+        if (base == null) {
+            return false;
+        }
+
+        CanvasItemDTO current = canvasItemMapper.toDTO(item);
+        boolean typeChanged = !Objects.equals(incoming.getType(), base.type());
+        if (typeChanged && !Objects.equals(current.getType(), base.type())
+                && !Objects.equals(current.getType(), incoming.getType())) {
+            return false;
+        }
+
+        Optional<String> data = mergeData(base.data(), current.getData(), incoming.getData());
+        if (data.isEmpty()) {
+            return false;
+        }
+
+        // Geometry is last writer wins per field, as with buffered drag/resize
+        incoming.setType(typeChanged ? incoming.getType() : current.getType());
+        incoming.setX(incoming.getX() != base.x() ? incoming.getX() : current.getX());
+        incoming.setY(incoming.getY() != base.y() ? incoming.getY() : current.getY());
+        incoming.setWidth(incoming.getWidth() != base.width() ? incoming.getWidth() : current.getWidth());
+        incoming.setHeight(incoming.getHeight() != base.height() ? incoming.getHeight() : current.getHeight());
+        incoming.setZIndex(incoming.getZIndex() != base.zIndex() ? incoming.getZIndex() : current.getZIndex());
+        incoming.setData(data.get());
+        return true;
+    }
+
+    private Optional<String> mergeData(String base, String current, String incoming) {
+        if (Objects.equals(incoming, base) || Objects.equals(incoming, current)) {
+            return Optional.ofNullable(current);
+        }
+        if (Objects.equals(current, base)) {
+            return Optional.ofNullable(incoming);
+        }
+        if (base == null || current == null || incoming == null) {
+            return Optional.empty();
+        }
+
+        try {
+            JsonNode merged = JsonMerge.threeWay(objectMapper.readTree(base), objectMapper.readTree(current),
+                    objectMapper.readTree(incoming)).orElse(null);
+            return merged == null ? Optional.empty() : Optional.of(objectMapper.writeValueAsString(merged));
+        } catch (JsonProcessingException e) {
+            // Not JSON, so there are no fields to merge
+            return Optional.empty();
+        }
+    }
+
+    // Taken before the query runs, so anything written during it shows up next time
+    private String nextSyncCursor() {
+        return Long.toString(System.currentTimeMillis() - syncOverlapMs);
+    }
+
+    // Enforce FILO stack size with a single DELETE, whatever the trash currently holds.
+    // The tombstones it removes are gone from delta sync, so their newest time is recorded.
+    // Callers are transactional; the user row lock makes concurrent deletes trim in turn,
+    // each seeing the other's soft delete, so the OFFSET can't race.
+    private void trimTrash(AuthenticatedUser user) {
+        int limit = user.getTrashLimit() != null ? user.getTrashLimit() : defaultTrashLimit;
+        userRepository.lockById(user.getId());
+        Date trimmedUntil = canvasItemRepository.findTrimmedUntil(user.getId(), limit);
+        if (trimmedUntil == null) {
+            return;
+        }
+        canvasItemRepository.trimTrash(user.getId(), limit);
+        userRepository.raiseTrashPurgedUntil(user.getId(), trimmedUntil);
+    }
+
+    private static CanvasItemCreateDTO copyFields(CanvasItemCreateDTO source) {
+        CanvasItemCreateDTO copy = new CanvasItemCreateDTO();
+        copy.setType(source.getType());
+        copy.setX(source.getX());
+        copy.setY(source.getY());
+        copy.setWidth(source.getWidth());
+        copy.setHeight(source.getHeight());
+        copy.setZIndex(source.getZIndex());
+        copy.setData(source.getData());
+        return copy;
+    }
+
     // DTOs
     public static class CanvasItemDTO {
         private Long id;
@@ -227,6 +984,8 @@ public class CanvasItemController {
         private int zIndex;
         private String data;
         private Boolean deleted;
+        private long version;
+        private Long boardId;
 
         public CanvasItemDTO(Long id, String type, double x, double y, double width, double height, int zIndex,
                 String data, Boolean deleted) {
@@ -241,6 +1000,12 @@ public class CanvasItemController {
             this.deleted = deleted;
         }
 
+        public CanvasItemDTO(Long id, String type, double x, double y, double width, double height, int zIndex,
+                String data, Boolean deleted, long version) {
+            this(id, type, x, y, width, height, zIndex, data, deleted);
+            this.version = version;
+        }
+
         // Getters and setters
         public Boolean getDeleted(){
             return deleted;
@@ -313,6 +1078,22 @@ public class CanvasItemController {
         public void setData(String data) {
             this.data = data;
         }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public void setVersion(long version) {
+            this.version = version;
+        }
+
+        public Long getBoardId() {
+            return boardId;
+        }
+
+        public void setBoardId(Long boardId) {
+            this.boardId = boardId;
+        }
     }
 
     // DTO for creating items (no ID needed)
@@ -324,6 +1105,8 @@ public class CanvasItemController {
         private double height;
         private int zIndex;
         private String data;
+        // Creates only; null keeps the item off every board
+        private Long boardId;
 
         // Getters and setters
         public String getType() {
@@ -381,19 +1164,22 @@ public class CanvasItemController {
         public void setData(String data) {
             this.data = data;
         }
+
+        public Long getBoardId() {
+            return boardId;
+        }
+
+        public void setBoardId(Long boardId) {
+            this.boardId = boardId;
+        }
     }
 
     // DTO for updating items (no ID in body, comes from path)
-    public static class CanvasItemUpdateDTO {
-        private String type;
-        private double x;
-        private double y;
-        private double width;
-        private double height;
-        private int zIndex;
-        private String data;
+    public static class CanvasItemUpdateDTO extends CanvasItemCreateDTO {
         private Boolean deleted;
         private Date deletedAt;
+        // Version the edit is based on; null for an unconditional write
+        private Long version;
 
         // Getters and setters
 
@@ -413,6 +1199,265 @@ public class CanvasItemController {
             this.deletedAt = deletedAt;
         }
 
+        public Long getVersion() {
+            return version;
+        }
+
+        public void setVersion(Long version) {
+            this.version = version;
+        }
+    }
+
+    // DTO for a single operation inside a batch request
+    public static class BatchOperationDTO extends CanvasItemCreateDTO {
+        public static final String CREATE = "create";
+        public static final String UPDATE = "update";
+        public static final String DELETE = "delete";
+
+        private String op;
+        private Long id;
+        // Updates only: version the edit is based on, see updateCanvasItem
+        private Long version;
+
+        // Getters and setters
+        public String getOp() {
+            return op;
+        }
+
+        public void setOp(String op) {
+            this.op = op;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        public void setVersion(Long version) {
+            this.version = version;
+        }
+    }
+
+    // DTO for the outcome of one batch operation, in request order
+    public static class BatchResultDTO {
+        private int index;
+        private String op;
+        private Long id;
+        private int status;
+        private CanvasItemDTO item;
+
+        public BatchResultDTO(int index, String op, Long id, int status, CanvasItemDTO item) {
+            this.index = index;
+            this.op = op;
+            this.id = id;
+            this.status = status;
+            this.item = item;
+        }
+
+        // Getters and setters
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public String getOp() {
+            return op;
+        }
+
+        public void setOp(String op) {
+            this.op = op;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public void setStatus(int status) {
+            this.status = status;
+        }
+
+        public CanvasItemDTO getItem() {
+            return item;
+        }
+
+        public void setItem(CanvasItemDTO item) {
+            this.item = item;
+        }
+    }
+
+    // DTO for a delta sync response
+    public static class CanvasItemDeltaDTO {
+        private List<CanvasItemDTO> items;
+        private String cursor;
+
+        public CanvasItemDeltaDTO(List<CanvasItemDTO> items, String cursor) {
+            this.items = items;
+            this.cursor = cursor;
+        }
+
+        // Getters and setters
+        public List<CanvasItemDTO> getItems() {
+            return items;
+        }
+
+        public void setItems(List<CanvasItemDTO> items) {
+            this.items = items;
+        }
+
+        public String getCursor() {
+            return cursor;
+        }
+
+        public void setCursor(String cursor) {
+            this.cursor = cursor;
+        }
+    }
+
+    // DTO for on-demand item content
+    public static class CanvasItemDataDTO {
+        private Long id;
+        private String data;
+        private long version;
+
+        public CanvasItemDataDTO(Long id, String data, long version) {
+            this.id = id;
+            this.data = data;
+            this.version = version;
+        }
+
+        // Getters and setters
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getData() {
+            return data;
+        }
+
+        public void setData(String data) {
+            this.data = data;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public void setVersion(long version) {
+            this.version = version;
+        }
+    }
+
+    // DTO for one page of the keyset-paginated listing
+    public static class CanvasItemPageDTO {
+        private List<CanvasItemDTO> items;
+        private String next;
+
+        public CanvasItemPageDTO(List<CanvasItemDTO> items, String next) {
+            this.items = items;
+            this.next = next;
+        }
+
+        // Getters and setters
+        public List<CanvasItemDTO> getItems() {
+            return items;
+        }
+
+        public void setItems(List<CanvasItemDTO> items) {
+            this.items = items;
+        }
+
+        public String getNext() {
+            return next;
+        }
+
+        public void setNext(String next) {
+            this.next = next;
+        }
+    }
+
+    // DTO for a buffered geometry update; fields left null are not changed
+    public static class GeometryUpdateDTO {
+        private Double x;
+        private Double y;
+        private Double width;
+        private Double height;
+        private Integer zIndex;
+
+        // Getters and setters
+        public Double getX() {
+            return x;
+        }
+
+        public void setX(Double x) {
+            this.x = x;
+        }
+
+        public Double getY() {
+            return y;
+        }
+
+        public void setY(Double y) {
+            this.y = y;
+        }
+
+        public Double getWidth() {
+            return width;
+        }
+
+        public void setWidth(Double width) {
+            this.width = width;
+        }
+
+        public Double getHeight() {
+            return height;
+        }
+
+        public void setHeight(Double height) {
+            this.height = height;
+        }
+
+        public Integer getZIndex() {
+            return zIndex;
+        }
+
+        public void setZIndex(Integer zIndex) {
+            this.zIndex = zIndex;
+        }
+    }
+
+    // DTO for partial updates; only non-null fields are written
+    public static class CanvasItemPatchDTO {
+        private String type;
+        private Double x;
+        private Double y;
+        private Double width;
+        private Double height;
+        private Integer zIndex;
+        private String data;
+
+        // Getters and setters
         public String getType() {
             return type;
         }
@@ -421,43 +1466,43 @@ public class CanvasItemController {
             this.type = type;
         }
 
-        public double getX() {
+        public Double getX() {
             return x;
         }
 
-        public void setX(double x) {
+        public void setX(Double x) {
             this.x = x;
         }
 
-        public double getY() {
+        public Double getY() {
             return y;
         }
 
-        public void setY(double y) {
+        public void setY(Double y) {
             this.y = y;
         }
 
-        public double getWidth() {
+        public Double getWidth() {
             return width;
         }
 
-        public void setWidth(double width) {
+        public void setWidth(Double width) {
             this.width = width;
         }
 
-        public double getHeight() {
+        public Double getHeight() {
             return height;
         }
 
-        public void setHeight(double height) {
+        public void setHeight(Double height) {
             this.height = height;
         }
 
-        public int getZIndex() {
+        public Integer getZIndex() {
             return zIndex;
         }
 
-        public void setZIndex(int zIndex) {
+        public void setZIndex(Integer zIndex) {
             this.zIndex = zIndex;
         }
 
@@ -0,0 +1,71 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import java.util.Optional;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.backenddailyboard.dailyboard.controller.CanvasItemController.CanvasItemCreateDTO;
+import com.backenddailyboard.dailyboard.controller.CanvasItemController.CanvasItemDTO;
+import com.backenddailyboard.dailyboard.event.BoardChangeEvent;
+import com.backenddailyboard.dailyboard.model.AuthenticatedUser;
+import com.backenddailyboard.dailyboard.model.Board;
+import com.backenddailyboard.dailyboard.model.CanvasItem;
+import com.backenddailyboard.dailyboard.repository.BoardRepository;
+import com.backenddailyboard.dailyboard.repository.CanvasItemRepository;
+import com.backenddailyboard.dailyboard.repository.UserRepository;
+import com.backenddailyboard.dailyboard.service.ItemVersionHistory;
+
+/**
+ * Item creation, for POST /api/items and POST /api/boards/{boardId}/items. The item
+ * goes on the board named in the body if any; that board must belong to the user.
+ */
+@Component
+public class CanvasItemCreator {
+
+    private final CanvasItemRepository canvasItemRepository;
+    private final UserRepository userRepository;
+    private final BoardRepository boardRepository;
+    private final CanvasItemMapper canvasItemMapper;
+    private final ItemVersionHistory itemVersionHistory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CanvasItemCreator(CanvasItemRepository canvasItemRepository, UserRepository userRepository,
+            BoardRepository boardRepository, CanvasItemMapper canvasItemMapper,
+            ItemVersionHistory itemVersionHistory, ApplicationEventPublisher eventPublisher) {
+        this.canvasItemRepository = canvasItemRepository;
+        this.userRepository = userRepository;
+        this.boardRepository = boardRepository;
+        this.canvasItemMapper = canvasItemMapper;
+        this.itemVersionHistory = itemVersionHistory;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // 404 for an unknown board, 403 for someone else's
+    public ResponseEntity<CanvasItemDTO> create(AuthenticatedUser user, CanvasItemCreateDTO createDTO) {
+        // Create new canvas item
+        CanvasItem item = canvasItemMapper.newItem(createDTO);
+        item.setUser(userRepository.getReferenceById(user.getId())); // Associate with current user, no extra query
+
+        if (createDTO.getBoardId() != null) {
+            Optional<Board> boardOptional = boardRepository.findById(createDTO.getBoardId());
+            if (boardOptional.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (!boardOptional.get().getUserId().equals(user.getId())) {
+                return ResponseEntity.status(403).build();
+            }
+            item.setBoard(boardOptional.get());
+        }
+
+        CanvasItem savedItem = canvasItemRepository.save(item);
+        CanvasItemDTO responseDTO = canvasItemMapper.toDTO(savedItem);
+        itemVersionHistory.record(responseDTO.getId(), canvasItemMapper.toRevision(responseDTO));
+        // Listeners (live sync etc.) run after commit when there is a transaction
+        eventPublisher.publishEvent(new BoardChangeEvent(user.getId(), savedItem.getId(),
+                BoardChangeEvent.Kind.UPSERT, responseDTO));
+
+        return ResponseEntity.ok(responseDTO);
+    }
+}
@@ -0,0 +1,127 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import org.springframework.stereotype.Component;
+
+import com.backenddailyboard.dailyboard.controller.CanvasItemController.CanvasItemCreateDTO;
+import com.backenddailyboard.dailyboard.controller.CanvasItemController.CanvasItemDTO;
+import com.backenddailyboard.dailyboard.model.CanvasItem;
+import com.backenddailyboard.dailyboard.model.CanvasItemGeometry;
+import com.backenddailyboard.dailyboard.service.GeometryWriteBuffer;
+import com.backenddailyboard.dailyboard.service.GeometryWriteBuffer.PendingGeometry;
+import com.backenddailyboard.dailyboard.service.ItemMetrics;
+import com.backenddailyboard.dailyboard.service.ItemVersionHistory.Revision;
+import com.backenddailyboard.dailyboard.service.StrokeCodec;
+
+/**
+ * Conversion between canvas_items rows and what clients send and see, shared by the
+ * item and board endpoints. Reads overlay geometry still in the write buffer and
+ * decode free-draw strokes; writes encode them.
+ */
+@Component
+public class CanvasItemMapper {
+
+    private final GeometryWriteBuffer geometryWriteBuffer;
+    private final StrokeCodec strokeCodec;
+    private final ItemMetrics itemMetrics;
+
+    public CanvasItemMapper(GeometryWriteBuffer geometryWriteBuffer, StrokeCodec strokeCodec, ItemMetrics itemMetrics) {
+        this.geometryWriteBuffer = geometryWriteBuffer;
+        this.strokeCodec = strokeCodec;
+        this.itemMetrics = itemMetrics;
+    }
+
+    public CanvasItemDTO toDTO(CanvasItem item) {
+        return toDTO(item, null);
+    }
+
+    public CanvasItemDTO toDTO(CanvasItem item, Double zoom) {
+        String data = clientData(item, zoom);
+
+        // Reads see drag/resize geometry that hasn't been flushed yet
+        PendingGeometry pending = geometryWriteBuffer.pending(item.getUserId(), item.getId());
+        CanvasItemDTO itemDTO;
+        if (pending != null) {
+            itemDTO = new CanvasItemDTO(
+                    item.getId(),
+                    item.getType(),
+                    pending.xOr(item.getX()),
+                    pending.yOr(item.getY()),
+                    pending.widthOr(item.getWidth()),
+                    pending.heightOr(item.getHeight()),
+                    pending.zIndexOr(item.getZIndex()),
+                    data,
+                    item.isDeleted(),
+                    item.getVersion());
+        } else {
+            itemDTO = new CanvasItemDTO(
+                    item.getId(),
+                    item.getType(),
+                    item.getX(),
+                    item.getY(),
+                    item.getWidth(),
+                    item.getHeight(),
+                    item.getZIndex(),
+                    data,
+                    item.isDeleted(),
+                    item.getVersion());
+        }
+
+        // Freshly saved items only have the board reference, whose id is known without loading it
+        itemDTO.setBoardId(item.getBoardId() != null ? item.getBoardId()
+                : item.getBoard() != null ? item.getBoard().getId() : null);
+        return itemDTO;
+    }
+
+    // Data as clients expect it: free-draw strokes decoded, simplified for zoom below 1
+    public String clientData(CanvasItem item, Double zoom) {
+        return StrokeCodec.isEncoded(item.getData())
+                ? strokeCodec.decode(item.getData(), zoom)
+                : item.getData();
+    }
+
+    // Reads see drag/resize geometry that hasn't been flushed yet
+    public CanvasItemGeometry withPending(Long userId, CanvasItemGeometry geometry) {
+        PendingGeometry pending = geometryWriteBuffer.pending(userId, geometry.getId());
+        if (pending == null) {
+            return geometry;
+        }
+        return new CanvasItemGeometry(
+                geometry.getId(),
+                geometry.getType(),
+                pending.xOr(geometry.getX()),
+                pending.yOr(geometry.getY()),
+                pending.widthOr(geometry.getWidth()),
+                pending.heightOr(geometry.getHeight()),
+                pending.zIndexOr(geometry.getZIndex()),
+                geometry.getDeleted(),
+                geometry.getVersion());
+    }
+
+    // The item as clients were sent it, for ItemVersionHistory
+    public Revision toRevision(CanvasItemDTO itemDTO) {
+        return new Revision(itemDTO.getVersion(), itemDTO.getType(), itemDTO.getX(), itemDTO.getY(),
+                itemDTO.getWidth(), itemDTO.getHeight(), itemDTO.getZIndex(), itemDTO.getData());
+    }
+
+    public CanvasItem newItem(CanvasItemCreateDTO createDTO) {
+        CanvasItem item = new CanvasItem();
+        applyFields(item, createDTO);
+        return item;
+    }
+
+    public void applyFields(CanvasItem item, CanvasItemCreateDTO updateDTO) {
+        item.setType(updateDTO.getType());
+        item.setX(updateDTO.getX());
+        item.setY(updateDTO.getY());
+        item.setWidth(updateDTO.getWidth());
+        item.setHeight(updateDTO.getHeight());
+        item.setZIndex(updateDTO.getZIndex());
+        item.setData(storedData(updateDTO.getType(), updateDTO.getData()));
+        itemMetrics.recordDataSize(updateDTO.getType(), updateDTO.getData());
+    }
+
+    // Free-draw strokes are stored simplified and delta-encoded, everything else as sent
+    public String storedData(String type, String data) {
+        return StrokeCodec.FREE_DRAW.equals(type) ? strokeCodec.encode(data) : data;
+    }
+}
@@ -0,0 +1,36 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import com.backenddailyboard.dailyboard.filter.RequestDecompressionFilter.RequestTooLargeException;
+
+/**
+ * 413 for request bodies over their caps, on every endpoint: a compressed body that
+ * decodes past its cap, and a multipart upload over the servlet multipart limits.
+ * Endpoints reading the raw stream see the decoding exception itself; @RequestBody
+ * endpoints see it wrapped by the message converter.
+ */
+@RestControllerAdvice
+public class RequestTooLargeHandler {
+
+    @ExceptionHandler({ RequestTooLargeException.class, MaxUploadSizeExceededException.class })
+    public ResponseEntity<Void> handleTooLarge() {
+        return ResponseEntity.status(413).build();
+    }
+
+    // Anything else unreadable is rethrown and gets Spring's usual 400
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Void> handleUnreadable(HttpMessageNotReadableException e)
+            throws HttpMessageNotReadableException {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof RequestTooLargeException) {
+                return ResponseEntity.status(413).build();
+            }
+        }
+        throw e;
+    }
+}
@@ -1,5 +1,70 @@
 package com.backenddailyboard.dailyboard.controller;
 
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import com.backenddailyboard.dailyboard.model.AuthenticatedUser;
+import com.backenddailyboard.dailyboard.model.User;
+import com.backenddailyboard.dailyboard.repository.UserRepository;
+import com.backenddailyboard.dailyboard.service.UserLookupCache;
+
+@RestController
+@RequestMapping("/api/users/me")
+@CrossOrigin(origins = "http://localhost:3000")
 public class UserController {
-    
+
+    private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
+
+    @Value("${items.trash.max-limit:100}")
+    private int maxTrashLimit;
+
+    public UserController(UserRepository userRepository, UserLookupCache userLookupCache) {
+        this.userRepository = userRepository;
+        this.userLookupCache = userLookupCache;
+    }
+
+    // How many soft-deleted items this user keeps for undo; takes effect on the next delete
+    @PutMapping("/trash-limit")
+    public ResponseEntity<Void> updateTrashLimit(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestBody TrashLimitDTO trashLimitDTO) {
+        if (user == null || user.getId() == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Integer limit = trashLimitDTO.getLimit();
+        if (limit != null && (limit < 0 || limit > maxTrashLimit)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Optional<User> userOptional = userRepository.findById(user.getId());
+        if (userOptional.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        User entity = userOptional.get();
+        entity.setTrashLimit(limit);
+        userRepository.save(entity);
+        userLookupCache.evict(user.getGoogleId());
+
+        return ResponseEntity.ok().build();
+    }
+
+    // DTOs
+    public static class TrashLimitDTO {
+        // null resets to the server default
+        private Integer limit;
+
+        public Integer getLimit() {
+            return limit;
+        }
+
+        public void setLimit(Integer limit) {
+            this.limit = limit;
+        }
+    }
 }
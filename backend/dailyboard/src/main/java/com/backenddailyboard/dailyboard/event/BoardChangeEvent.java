@@ -0,0 +1,61 @@
+package com.backenddailyboard.dailyboard.event;
+
+/**
+ * Published by the item endpoints after a change to a user's board.
+ * Listeners (live sync, caches, previews) react to it instead of being
+ * called from every handler.
+ */
+public class BoardChangeEvent {
+
+    public enum Kind {
+        // payload is the full item
+        UPSERT,
+        // payload holds only the changed fields, null fields are unchanged
+        PATCH,
+        // no payload
+        DELETE,
+        // no item or payload: many items changed at once (an import), reload the board
+        RESYNC
+    }
+
+    private final Long userId;
+    private final Long itemId;
+    private final Kind kind;
+    private final Object payload;
+    // WebSocket session that caused the change, so it isn't echoed back; null for HTTP writes
+    private final String originSessionId;
+
+    public BoardChangeEvent(Long userId, Long itemId, Kind kind, Object payload) {
+        this(userId, itemId, kind, payload, null);
+    }
+
+    public BoardChangeEvent(Long userId, Long itemId, Kind kind, Object payload, String originSessionId) {
+        this.userId = userId;
+        this.itemId = itemId;
+        this.kind = kind;
+        this.payload = payload;
+        this.originSessionId = originSessionId;
+    }
+
+    // Getters
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Object getPayload() {
+        return payload;
+    }
+
+    public String getOriginSessionId() {
+        return originSessionId;
+    }
+}
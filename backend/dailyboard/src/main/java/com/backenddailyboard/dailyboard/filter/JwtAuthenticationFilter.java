@@ -1,7 +1,13 @@
 // JwtAuthenticationFilter.java
 package com.backenddailyboard.dailyboard.filter;
 
+import com.backenddailyboard.dailyboard.model.AuthenticatedUser;
+import com.backenddailyboard.dailyboard.service.UserLookupCache;
+import com.backenddailyboard.dailyboard.util.JwtClaims;
 import com.backenddailyboard.dailyboard.util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,6 +20,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -21,29 +28,46 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private UserLookupCache userLookupCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer validTokenTimer;
+    private Timer invalidTokenTimer;
+
+    @PostConstruct
+    void initMetrics() {
+        validTokenTimer = Timer.builder("auth.jwt.verify").tag("result", "valid").register(meterRegistry);
+        invalidTokenTimer = Timer.builder("auth.jwt.verify").tag("result", "invalid").register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String userId = null;
+        JwtClaims claims = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            try {
-                userId = jwtUtil.extractUserId(token);
-            } catch (Exception e) {
-                // Invalid token
-            }
+            // Single verification pass: signature, expiry and claims together
+            long start = System.nanoTime();
+            claims = jwtUtil.verify(authHeader.substring(7)).orElse(null);
+            Timer timer = claims != null ? validTokenTimer : invalidTokenTimer;
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
 
-        if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(token)) {
-                UsernamePasswordAuthenticationToken authToken = 
-                    new UsernamePasswordAuthenticationToken(userId, null, new ArrayList<>());
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+        if (claims != null && claims.getUserId() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Resolve the internal user once here so handlers don't repeat the lookup
+            String googleId = claims.getUserId();
+            String email = claims.getEmail();
+            AuthenticatedUser principal = userLookupCache.resolve(googleId)
+                .orElseGet(() -> new AuthenticatedUser(null, googleId, email, null, null));
+            UsernamePasswordAuthenticationToken authToken = 
+                new UsernamePasswordAuthenticationToken(principal, null, new ArrayList<>());
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,175 @@
+package com.backenddailyboard.dailyboard.filter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.backenddailyboard.dailyboard.util.ContentCoding;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Accepts gzip or zstd encoded request bodies (Content-Encoding) on the API, so large
+ * batch and board writes can be sent compressed. The decoded size is capped to keep a
+ * small compressed body from expanding without bound; going over it is answered with
+ * 413. Board imports are whole archives, so they get their own, larger cap.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+
+    private static final String IMPORT_PATH = "/api/boards/import";
+
+    @Value("${http.compression.max-request-bytes:16777216}")
+    private long maxRequestBytes;
+
+    @Value("${boards.import.max-bytes:1073741824}")
+    private long maxImportBytes;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(HttpHeaders.CONTENT_ENCODING) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String contentEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (contentEncoding.equalsIgnoreCase("identity")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ContentCoding coding = ContentCoding.forToken(contentEncoding);
+        if (coding == null) {
+            response.sendError(415);
+            return;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        long limit = path.equals(IMPORT_PATH) ? maxImportBytes : maxRequestBytes;
+        filterChain.doFilter(new DecodedRequest(request, coding, limit), response);
+    }
+
+    // The decoded body is over its cap; answered with 413 (see RequestTooLargeHandler)
+    public static class RequestTooLargeException extends IOException {
+        public RequestTooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    private static class DecodedRequest extends HttpServletRequestWrapper {
+        private static final List<String> HIDDEN_HEADERS = List.of(
+                HttpHeaders.CONTENT_ENCODING.toLowerCase(), HttpHeaders.CONTENT_LENGTH.toLowerCase());
+
+        private final ContentCoding coding;
+        private final long limit;
+        private ServletInputStream inputStream;
+
+        DecodedRequest(HttpServletRequest request, ContentCoding coding, long limit) {
+            super(request);
+            this.coding = coding;
+            this.limit = limit;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                InputStream decoded = coding.decoder(super.getInputStream());
+                inputStream = new ServletInputStream() {
+                    private long read;
+                    private boolean finished;
+
+                    @Override
+                    public int read() throws IOException {
+                        int b = decoded.read();
+                        count(b < 0 ? -1 : 1);
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        int n = decoded.read(b, off, len);
+                        count(n);
+                        return n;
+                    }
+
+                    private void count(int n) throws IOException {
+                        if (n < 0) {
+                            finished = true;
+                            return;
+                        }
+                        read += n;
+                        if (read > limit) {
+                            throw new RequestTooLargeException("Decoded request body exceeds " + limit + " bytes");
+                        }
+                    }
+
+                    @Override
+                    public boolean isFinished() {
+                        return finished;
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setReadListener(ReadListener readListener) {
+                        throw new UnsupportedOperationException("Async IO is not supported on compressed requests");
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        decoded.close();
+                    }
+                };
+            }
+            return inputStream;
+        }
+
+        // The body is no longer encoded and its length is unknown
+        @Override
+        public String getHeader(String name) {
+            return HIDDEN_HEADERS.contains(name.toLowerCase()) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return HIDDEN_HEADERS.contains(name.toLowerCase()) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            List<String> names = Collections.list(super.getHeaderNames());
+            names.removeIf(name -> HIDDEN_HEADERS.contains(name.toLowerCase()));
+            return Collections.enumeration(names);
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+    }
+}
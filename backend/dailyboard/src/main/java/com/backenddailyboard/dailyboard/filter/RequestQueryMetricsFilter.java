@@ -0,0 +1,55 @@
+package com.backenddailyboard.dailyboard.filter;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.backenddailyboard.dailyboard.util.RequestQueryCounter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records how many SQL statements and entity loads each request caused, tagged like
+ * http.server.requests (method + URI template) so N+1 regressions show up per endpoint.
+ */
+@Component
+public class RequestQueryMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestQueryMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryCounter.Counts counts = RequestQueryCounter.end();
+            // Template, not the raw path, to keep tag cardinality bounded
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+            summary("hibernate.request.queries", request.getMethod(), uri).record(counts.getQueries());
+            summary("hibernate.request.entities.loaded", request.getMethod(), uri).record(counts.getEntitiesLoaded());
+        }
+    }
+
+    private DistributionSummary summary(String name, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .tag("method", method)
+                .tag("uri", uri)
+                .serviceLevelObjectives(1, 2, 5, 10, 50, 100)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,282 @@
+package com.backenddailyboard.dailyboard.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.backenddailyboard.dailyboard.util.ContentCoding;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Compresses API responses with zstd or gzip, whichever the client prefers, once the
+ * body grows past a threshold. Used instead of Tomcat's built-in compression, which
+ * is gzip-only at a fixed level. Responses that already carry a Content-Encoding
+ * (the pre-gzipped board snapshot) pass through untouched, and blobs are excluded
+ * since images don't compress and are sent with sendfile. A strong ETag on a
+ * compressed response gets the coding as a suffix ("abc" becomes "abc-zstd").
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    private static final List<String> COMPRESSIBLE_TYPES = List.of(
+            "application/json", "application/x-ndjson", "application/cbor", "application/x-jackson-smile", "text/");
+
+    @Value("${http.compression.enabled:true}")
+    private boolean enabled;
+
+    @Value("${http.compression.min-response-bytes:2048}")
+    private int minResponseBytes;
+
+    @Value("${http.compression.gzip-level:6}")
+    private int gzipLevel;
+
+    @Value("${http.compression.zstd-level:3}")
+    private int zstdLevel;
+
+    @Value("${http.compression.zstd:true}")
+    private boolean zstdEnabled;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !enabled || !path.startsWith("/api/") || path.startsWith("/api/blobs");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        ContentCoding coding = ContentCoding.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING), zstdEnabled);
+        if (coding == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        int level = coding == ContentCoding.ZSTD ? zstdLevel : gzipLevel;
+        CompressingResponse compressingResponse = new CompressingResponse(response, coding, level, minResponseBytes);
+        filterChain.doFilter(request, compressingResponse);
+        compressingResponse.finish();
+    }
+
+    /**
+     * Buffers the first minResponseBytes; if the body ends within them it is sent as is
+     * (with its Content-Length), otherwise the buffer and the rest go through the encoder.
+     */
+    private static class CompressingResponse extends HttpServletResponseWrapper {
+        private final ContentCoding coding;
+        private final int level;
+        private final int threshold;
+
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private OutputStream target;
+        private boolean compressing;
+        private long contentLength = -1;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        CompressingResponse(HttpServletResponse response, ContentCoding coding, int level, int threshold) {
+            super(response);
+            this.coding = coding;
+            this.level = level;
+            this.threshold = threshold;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            setContentLengthLong(len);
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (target == null) {
+                contentLength = len;
+            } else if (!compressing) {
+                super.setContentLengthLong(len);
+            }
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(value);
+            } else {
+                super.setIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        CompressingResponse.this.write(new byte[] { (byte) b }, 0, 1);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        CompressingResponse.this.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        CompressingResponse.this.flush();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        throw new UnsupportedOperationException("Async IO is not supported on compressed responses");
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            flush();
+            if (target != null) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (target == null) {
+                buffer.reset();
+            } else {
+                super.resetBuffer();
+            }
+        }
+
+        @Override
+        public void reset() {
+            if (target == null) {
+                buffer.reset();
+                contentLength = -1;
+            }
+            super.reset();
+        }
+
+        private void write(byte[] b, int off, int len) throws IOException {
+            if (target == null) {
+                if (buffer.size() + len <= threshold) {
+                    buffer.write(b, off, len);
+                    return;
+                }
+                commit(true);
+            }
+            target.write(b, off, len);
+        }
+
+        // Below the threshold a flush is held back; converters flush after every body
+        private void flush() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        private void commit(boolean large) throws IOException {
+            int status = getStatus();
+            compressing = large
+                    && isCompressible(getContentType())
+                    && getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                    && status != 204 && status != 206 && status != 304;
+
+            if (compressing) {
+                super.setHeader(HttpHeaders.CONTENT_ENCODING, coding.getToken());
+                String etag = getHeader(HttpHeaders.ETAG);
+                if (etag != null) {
+                    super.setHeader(HttpHeaders.ETAG, coding.etag(etag));
+                }
+                target = coding.encoder(super.getOutputStream(), level);
+            } else {
+                if (contentLength >= 0) {
+                    super.setContentLengthLong(contentLength);
+                }
+                target = super.getOutputStream();
+            }
+
+            buffer.writeTo(target);
+            buffer = null;
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (target == null) {
+                commit(false);
+            }
+            if (compressing) {
+                // Writes the trailer; the container closes the underlying stream anyway
+                target.close();
+            }
+        }
+
+        private static boolean isCompressible(String contentType) {
+            if (contentType == null) {
+                return false;
+            }
+            for (String type : COMPRESSIBLE_TYPES) {
+                if (contentType.startsWith(type)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.backenddailyboard.dailyboard.model;
+
+import java.security.Principal;
+
+/**
+ * The principal put in the security context by {@code JwtAuthenticationFilter}.
+ * Carries the internal user id so handlers don't have to look the user up again.
+ * {@code id} is null when the token is valid but no {@link User} row exists.
+ */
+public class AuthenticatedUser implements Principal {
+
+    private final Long id;
+    private final String googleId;
+    private final String email;
+    private final String name;
+    private final Integer trashLimit;
+
+    public AuthenticatedUser(Long id, String googleId, String email, String name, Integer trashLimit) {
+        this.id = id;
+        this.googleId = googleId;
+        this.email = email;
+        this.name = name;
+        this.trashLimit = trashLimit;
+    }
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getGoogleId(), user.getEmail(), user.getName(),
+                user.getTrashLimit());
+    }
+
+    // Getters
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getGoogleId() {
+        return googleId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getDisplayName() {
+        return name;
+    }
+
+    // Null when the user hasn't overridden the server default
+    public Integer getTrashLimit() {
+        return trashLimit;
+    }
+
+    // Principal name stays the googleId so auth.getName() keeps its old meaning
+    @Override
+    public String getName() {
+        return googleId;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser{" +
+                "id=" + id +
+                ", googleId='" + googleId + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,69 @@
+package com.backenddailyboard.dailyboard.model;
+
+import java.util.Date;
+
+import jakarta.persistence.*;
+
+/**
+ * Metadata for a file in the content-addressed blob store. The id is the
+ * SHA-256 of the content, so identical uploads share one row and one file.
+ */
+@Entity
+@Table(name = "blobs")
+public class Blob {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    private String contentType;
+
+    private long size;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt;
+
+    public Blob() {
+    }
+
+    public Blob(String hash, String contentType, long size) {
+        this.hash = hash;
+        this.contentType = contentType;
+        this.size = size;
+        this.createdAt = new Date();
+    }
+
+    // Getters and setters
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,87 @@
+package com.backenddailyboard.dailyboard.model;
+
+import java.util.Date;
+
+import jakarta.persistence.*;
+
+/**
+ * A named canvas owned by a user. Items without a board predate boards and
+ * only show up in the user-wide /api/items listing.
+ */
+@Entity
+@Table(name = "boards", indexes = {
+        @Index(name = "idx_boards_user", columnList = "user_id")
+})
+public class Board {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String name;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "user_id", insertable = false, updatable = false)
+    private Long userId;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt;
+
+    public Board() {
+    }
+
+    public Board(String name, User user) {
+        this.name = name;
+        this.user = user;
+    }
+
+    @PrePersist
+    void created() {
+        this.createdAt = new Date();
+    }
+
+    // Getters and setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -9,12 +9,23 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "canvas_items")
+@Table(name = "canvas_items", indexes = {
+        @Index(name = "idx_canvas_items_user_updated", columnList = "user_id, updated_at"),
+        @Index(name = "idx_canvas_items_user_id", columnList = "user_id, id"),
+        @Index(name = "idx_canvas_items_board_deleted", columnList = "board_id, deleted")
+})
 @JsonInclude(Include.ALWAYS)
 public class CanvasItem {
 
+    public static final String ID_SEQUENCE = "canvas_items_seq";
+
+    // Ids handed out per sequence call (pooled-lo, see PersistenceConfig), so a flush of
+    // new items is one nextval per block and the INSERTs can be JDBC-batched
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private String type;
@@ -35,9 +46,27 @@ public class CanvasItem {
     @Column(name = "user_id", insertable = false, updatable = false)
     private Long userId; // <-- add this!
 
+    // Null for items created before boards existed
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "board_id")
+    private Board board;
+
+    @Column(name = "board_id", insertable = false, updatable = false)
+    private Long boardId;
+
     @Temporal(TemporalType.TIMESTAMP)
     private Date deletedAt;
 
+    // Bumped on every write, drives the delta sync cursor
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date updatedAt;
+
+    // Optimistic lock. Bulk and native UPDATEs on canvas_items bump it explicitly;
+    // the default fills the column for rows that predate it
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     public CanvasItem() {
     }
 
@@ -52,6 +81,12 @@ public class CanvasItem {
         this.data = data;
     }
 
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.updatedAt = new Date();
+    }
+
     // Getters and setters
     
     @JsonProperty("deleted")
@@ -71,6 +106,14 @@ public class CanvasItem {
         this.deletedAt = deletedAt;
     }
 
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public Long getId() {
         return id;
     }
@@ -151,6 +194,30 @@ public class CanvasItem {
         this.userId = userId;
     }
 
+    public Board getBoard() {
+        return board;
+    }
+
+    public void setBoard(Board board) {
+        this.board = board;
+    }
+
+    public Long getBoardId() {
+        return boardId;
+    }
+
+    public void setBoardId(Long boardId) {
+        this.boardId = boardId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "CanvasItem{" +
@@ -0,0 +1,69 @@
+package com.backenddailyboard.dailyboard.model;
+
+/**
+ * Read-only view of a canvas item without its {@code data} column.
+ * Filled by constructor-expression queries in {@code CanvasItemRepository}.
+ */
+public class CanvasItemGeometry {
+
+    private final Long id;
+    private final String type;
+    private final double x;
+    private final double y;
+    private final double width;
+    private final double height;
+    private final int zIndex;
+    private final boolean deleted;
+    private final long version;
+
+    public CanvasItemGeometry(Long id, String type, double x, double y, double width, double height, int zIndex,
+            boolean deleted, long version) {
+        this.id = id;
+        this.type = type;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.zIndex = zIndex;
+        this.deleted = deleted;
+        this.version = version;
+    }
+
+    // Getters
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    public double getHeight() {
+        return height;
+    }
+
+    public int getZIndex() {
+        return zIndex;
+    }
+
+    public boolean getDeleted() {
+        return deleted;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,34 @@
+package com.backenddailyboard.dailyboard.model;
+
+import java.util.Date;
+
+/**
+ * Read-only view of a soft-deleted item for the undo stack.
+ * Filled by a constructor-expression query in {@code CanvasItemRepository}.
+ */
+public class TrashedItem {
+
+    private final Long id;
+    private final String type;
+    private final Date deletedAt;
+
+    public TrashedItem(Long id, String type, Date deletedAt) {
+        this.id = id;
+        this.type = type;
+        this.deletedAt = deletedAt;
+    }
+
+    // Getters
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Date getDeletedAt() {
+        return deletedAt;
+    }
+}
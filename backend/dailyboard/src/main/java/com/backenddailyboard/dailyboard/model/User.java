@@ -1,13 +1,20 @@
 package com.backenddailyboard.dailyboard.model;
 
+import java.util.Date;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_google_id", columnList = "google_id", unique = true)
+})
 public class User {
 
     @Id
@@ -20,6 +27,14 @@ public class User {
 
     private String email;  // add this field
 
+    // Max soft-deleted items kept for undo; null means the server default
+    private Integer trashLimit;
+
+    // Newest tombstone hard-deleted by a trash trim. Delta sync can't report deletions
+    // from before it, so older cursors have to reload the board.
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date trashPurgedUntil;
+
     public User() {
     }
 
@@ -63,4 +78,20 @@ public class User {
     public void setEmail(String email) {
         this.email = email;
     }
+
+    public Integer getTrashLimit() {
+        return trashLimit;
+    }
+
+    public void setTrashLimit(Integer trashLimit) {
+        this.trashLimit = trashLimit;
+    }
+
+    public Date getTrashPurgedUntil() {
+        return trashPurgedUntil;
+    }
+
+    public void setTrashPurgedUntil(Date trashPurgedUntil) {
+        this.trashPurgedUntil = trashPurgedUntil;
+    }
 }
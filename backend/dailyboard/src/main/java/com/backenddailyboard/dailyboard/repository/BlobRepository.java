@@ -0,0 +1,8 @@
+package com.backenddailyboard.dailyboard.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.backenddailyboard.dailyboard.model.Blob;
+
+public interface BlobRepository extends JpaRepository<Blob, String> {
+}
@@ -0,0 +1,11 @@
+package com.backenddailyboard.dailyboard.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.backenddailyboard.dailyboard.model.Board;
+
+public interface BoardRepository extends JpaRepository<Board, Long> {
+    List<Board> findAllByUserIdOrderByIdAsc(Long userId);
+}
@@ -1,15 +1,119 @@
 package com.backenddailyboard.dailyboard.repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
 
 import com.backenddailyboard.dailyboard.model.CanvasItem;
+import com.backenddailyboard.dailyboard.model.CanvasItemGeometry;
+import com.backenddailyboard.dailyboard.model.TrashedItem;
 
 public interface CanvasItemRepository extends JpaRepository<CanvasItem, Long> {
     // Custom method to find CanvasItems by User ID
     List<CanvasItem> findAllByUserId(Long userId);
+    // What the board draws; served by the partial index idx_canvas_items_live
+    @Query("SELECT c FROM CanvasItem c WHERE c.userId = :userId AND c.deleted = false")
+    List<CanvasItem> findLiveByUserId(@Param("userId") Long userId);
+    // One keyset page: the next `limit` live items after the given id, served by idx_canvas_items_user_id
+    @Query("SELECT c FROM CanvasItem c WHERE c.userId = :userId AND c.id > :afterId AND c.deleted = false "
+            + "ORDER BY c.id")
+    List<CanvasItem> findPage(@Param("userId") Long userId, @Param("afterId") Long afterId, Limit limit);
+    // Live items of one board; served by idx_canvas_items_board_deleted
+    @Query("SELECT c FROM CanvasItem c WHERE c.boardId = :boardId AND c.deleted = false")
+    List<CanvasItem> findLiveByBoardId(@Param("boardId") Long boardId);
     @Query("SELECT c FROM CanvasItem c WHERE c.userId = :userId AND c.deleted = true ORDER BY c.deletedAt ASC")
     List<CanvasItem> findSoftDeletedItems(@Param("userId") Long userId);
+    // Undo stack, newest first, without the data column
+    @Query("SELECT new com.backenddailyboard.dailyboard.model.TrashedItem(c.id, c.type, c.deletedAt) "
+            + "FROM CanvasItem c WHERE c.userId = :userId AND c.deleted = true "
+            + "ORDER BY c.deletedAt DESC NULLS LAST, c.id DESC")
+    List<TrashedItem> findTrash(@Param("userId") Long userId);
+    // Hard-deletes everything but the newest `keep` soft-deleted items in one statement.
+    // The ORDER BY is the order of the partial index idx_canvas_items_trash_order, so
+    // PostgreSQL walks it without a sort; the trash never grows past keep + 1, so only a
+    // bounded number of index entries is read.
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM canvas_items WHERE id IN (SELECT id FROM canvas_items "
+            + "WHERE user_id = :userId AND deleted = true "
+            + "ORDER BY deleted_at DESC NULLS LAST, id DESC OFFSET :keep ROWS)", nativeQuery = true)
+    int trimTrash(@Param("userId") Long userId, @Param("keep") int keep);
+    // Newest tombstone among the rows trimTrash would delete, or null if it would delete none
+    @Query(value = "SELECT MAX(updated_at) FROM (SELECT updated_at FROM canvas_items "
+            + "WHERE user_id = :userId AND deleted = true "
+            + "ORDER BY deleted_at DESC NULLS LAST, id DESC OFFSET :keep ROWS) trimmed", nativeQuery = true)
+    Date findTrimmedUntil(@Param("userId") Long userId, @Param("keep") int keep);
+    // Forward-only cursor over a user's live items; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM CanvasItem c WHERE c.userId = :userId AND c.deleted = false")
+    Stream<CanvasItem> streamLiveByUserId(@Param("userId") Long userId);
+    // Live items whose bounding box intersects the viewport; served by the idx_canvas_items_bbox GiST index
+    @Query(value = "SELECT * FROM canvas_items c WHERE c.user_id = :userId AND c.deleted = false "
+            + "AND box(point(c.x, c.y), point(c.x + c.width, c.y + c.height)) "
+            + "&& box(point(:minX, :minY), point(:maxX, :maxY))", nativeQuery = true)
+    List<CanvasItem> findInViewport(@Param("userId") Long userId, @Param("minX") double minX,
+            @Param("minY") double minY, @Param("maxX") double maxX, @Param("maxY") double maxY);
+    // Items created, changed or tombstoned at or after the given instant
+    @Query("SELECT c FROM CanvasItem c WHERE c.userId = :userId AND c.updatedAt >= :since")
+    List<CanvasItem> findChangedSince(@Param("userId") Long userId, @Param("since") Date since);
+
+    // Partial update: null parameters keep the current value, data is never read or written
+    @Modifying
+    @Query("UPDATE CanvasItem c SET c.type = COALESCE(:type, c.type), c.x = COALESCE(:x, c.x), "
+            + "c.y = COALESCE(:y, c.y), c.width = COALESCE(:width, c.width), "
+            + "c.height = COALESCE(:height, c.height), c.zIndex = COALESCE(:zIndex, c.zIndex), "
+            + "c.updatedAt = :now, c.version = c.version + 1 WHERE c.id = :id AND c.userId = :userId")
+    int patchFields(@Param("id") Long id, @Param("userId") Long userId, @Param("type") String type,
+            @Param("x") Double x, @Param("y") Double y, @Param("width") Double width,
+            @Param("height") Double height, @Param("zIndex") Integer zIndex, @Param("now") Date now);
+
+    @Modifying
+    @Query("UPDATE CanvasItem c SET c.data = :data, c.updatedAt = :now, c.version = c.version + 1 "
+            + "WHERE c.id = :id AND c.userId = :userId")
+    int updateData(@Param("id") Long id, @Param("userId") Long userId, @Param("data") String data,
+            @Param("now") Date now);
+
+    // Appends encoded stroke lines in place; only matches drawings already stored with the given header
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE canvas_items SET data = data || :lines, updated_at = :now, version = version + 1 "
+            + "WHERE id = :id AND user_id = :userId AND type = 'free_draw' AND data LIKE :headerPattern",
+            nativeQuery = true)
+    int appendStrokeLines(@Param("id") Long id, @Param("userId") Long userId, @Param("lines") String lines,
+            @Param("headerPattern") String headerPattern, @Param("now") Date now);
+
+    @Query("SELECT new com.backenddailyboard.dailyboard.model.CanvasItemGeometry("
+            + "c.id, c.type, c.x, c.y, c.width, c.height, c.zIndex, c.deleted, c.version) "
+            + "FROM CanvasItem c WHERE c.id = :id")
+    Optional<CanvasItemGeometry> findGeometryById(@Param("id") Long id);
+
+    // Board layout without the data column
+    @Query("SELECT new com.backenddailyboard.dailyboard.model.CanvasItemGeometry("
+            + "c.id, c.type, c.x, c.y, c.width, c.height, c.zIndex, c.deleted, c.version) "
+            + "FROM CanvasItem c WHERE c.userId = :userId AND c.deleted = false")
+    List<CanvasItemGeometry> findLiveGeometryByUserId(@Param("userId") Long userId);
+
+    // Boards the given items are on, deleted items included
+    @Query("SELECT DISTINCT c.boardId FROM CanvasItem c WHERE c.id IN :ids AND c.boardId IS NOT NULL")
+    List<Long> findBoardIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Owned live items among the given ids; others are silently left out
+    @Query("SELECT c FROM CanvasItem c WHERE c.userId = :userId AND c.deleted = false AND c.id IN :ids")
+    List<CanvasItem> findLiveByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
 }
@@ -1,11 +1,36 @@
 package com.backenddailyboard.dailyboard.repository;
 
+import java.util.Date;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 import com.backenddailyboard.dailyboard.model.User;
 
+import jakarta.persistence.LockModeType;
+
 public interface UserRepository extends JpaRepository<User, Long> {
     // You can add custom queries here if needed
     Optional<User> findByGoogleId(String googleId);
+
+    // Row lock held until the surrounding transaction ends; serializes a user's trash trims
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :userId")
+    Optional<User> lockById(@Param("userId") Long userId);
+
+    // Null until the user's trash was first trimmed
+    @Query("SELECT u.trashPurgedUntil FROM User u WHERE u.id = :userId")
+    Date findTrashPurgedUntil(@Param("userId") Long userId);
+
+    // Only ever moves forward, whatever order concurrent trims commit in
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.trashPurgedUntil = :until "
+            + "WHERE u.id = :userId AND (u.trashPurgedUntil IS NULL OR u.trashPurgedUntil < :until)")
+    int raiseTrashPurgedUntil(@Param("userId") Long userId, @Param("until") Date until);
 }
@@ -0,0 +1,166 @@
+package com.backenddailyboard.dailyboard.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.backenddailyboard.dailyboard.model.Blob;
+import com.backenddailyboard.dailyboard.repository.BlobRepository;
+
+/**
+ * Content-addressed file store on the local filesystem. Files are named by the
+ * SHA-256 of their content under a two-character fan-out directory, so the same
+ * image uploaded by any number of users is stored once.
+ */
+@Service
+public class BlobStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    // Anything else is served as application/octet-stream so uploads can't become active content
+    private static final Set<String> INLINE_TYPES = Set.of("image/png", "image/jpeg", "image/gif", "image/webp");
+
+    private final BlobRepository blobRepository;
+    private final Path root;
+
+    public BlobStore(BlobRepository blobRepository, @Value("${blobs.storage-dir:data/blobs}") String storageDir) {
+        this.blobRepository = blobRepository;
+        this.root = Paths.get(storageDir).toAbsolutePath().normalize();
+    }
+
+    public static boolean isValidHash(String hash) {
+        return hash != null && HASH.matcher(hash).matches();
+    }
+
+    /**
+     * Streams the content to a temp file while hashing it, then moves it into place.
+     * If the hash is already stored the temp file is dropped and the existing blob returned.
+     *
+     * Concurrent uploads of the same content are safe: each writes its own temp file, the
+     * atomic move replaces the target with identical bytes, and the upload that loses
+     * the row insert returns the row the other one wrote.
+     */
+    public Blob store(InputStream content, String contentType) throws IOException {
+        Upload upload = receive(content);
+        try {
+            Optional<Blob> existing = blobRepository.findById(upload.hash());
+            Path target = pathFor(upload.hash());
+            if (existing.isPresent() && Files.exists(target)) {
+                return existing.get();
+            }
+
+            moveIntoPlace(upload.temp(), target);
+            return existing.isPresent() ? existing.get() : saveRow(upload, contentType);
+        } finally {
+            Files.deleteIfExists(upload.temp());
+        }
+    }
+
+    /**
+     * Like store, but for a write inside a larger transaction: the row is saved now and
+     * rolls back with it, the file stays in a temp file until promote() after commit.
+     * Either promote or discard the result. The insert is only flushed with the caller's
+     * transaction, so racing a plain upload of the same content fails that transaction.
+     */
+    public StagedBlob stage(InputStream content, String contentType) throws IOException {
+        Upload upload = receive(content);
+        try {
+            Optional<Blob> existing = blobRepository.findById(upload.hash());
+            return new StagedBlob(existing.isPresent() ? existing.get() : saveRow(upload, contentType),
+                    upload.temp());
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(upload.temp());
+            throw e;
+        }
+    }
+
+    public void promote(StagedBlob staged) throws IOException {
+        Path target = pathFor(staged.blob().getHash());
+        if (Files.exists(target)) {
+            discard(staged);
+        } else {
+            moveIntoPlace(staged.temp(), target);
+        }
+    }
+
+    public void discard(StagedBlob staged) throws IOException {
+        Files.deleteIfExists(staged.temp());
+    }
+
+    public Optional<Blob> find(String hash) {
+        if (!isValidHash(hash) || !Files.exists(pathFor(hash))) {
+            return Optional.empty();
+        }
+        return blobRepository.findById(hash);
+    }
+
+    public Path pathFor(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    // Streams the content to a temp file under root while hashing it
+    private Upload receive(InputStream content) throws IOException {
+        Files.createDirectories(root);
+        Path temp = Files.createTempFile(root, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (DigestInputStream in = new DigestInputStream(content, digest);
+                    OutputStream out = Files.newOutputStream(temp)) {
+                size = in.transferTo(out);
+            }
+            return new Upload(temp, HexFormat.of().formatHex(digest.digest()), size);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    private Blob saveRow(Upload upload, String contentType) {
+        try {
+            return blobRepository.save(new Blob(upload.hash(), safeContentType(contentType), upload.size()));
+        } catch (DataIntegrityViolationException e) {
+            // Another upload of the same content inserted the row first
+            return blobRepository.findById(upload.hash()).orElseThrow(() -> e);
+        }
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String safeContentType(String contentType) {
+        return contentType != null && INLINE_TYPES.contains(contentType) ? contentType : "application/octet-stream";
+    }
+
+    private record Upload(Path temp, String hash, long size) {
+    }
+
+    // A blob whose row is saved but whose file is still in temp
+    public record StagedBlob(Blob blob, Path temp) {
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
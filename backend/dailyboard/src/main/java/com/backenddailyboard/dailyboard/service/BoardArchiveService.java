@@ -0,0 +1,432 @@
+package com.backenddailyboard.dailyboard.service;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.backenddailyboard.dailyboard.event.BoardChangeEvent;
+
+import com.backenddailyboard.dailyboard.model.Blob;
+import com.backenddailyboard.dailyboard.model.Board;
+import com.backenddailyboard.dailyboard.model.CanvasItem;
+import com.backenddailyboard.dailyboard.repository.BoardRepository;
+import com.backenddailyboard.dailyboard.repository.CanvasItemRepository;
+import com.backenddailyboard.dailyboard.repository.UserRepository;
+import com.backenddailyboard.dailyboard.service.BlobStore.StagedBlob;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Board backup as a zip archive, written and read as a stream so neither side ever
+ * holds the whole board. Entries, in order:
+ *
+ *   boards.ndjson       one {"id","name"} per line
+ *   items.ndjson        one live item per line, data as clients see it
+ *   blobs/<hash>.json   {"contentType"} of the blob that follows
+ *   blobs/<hash>        content of every blob an item references via {"blobHash": ...}
+ *
+ * Ids in the archive only link items to boards; import creates new boards and items
+ * for the importing user. Blobs are content-addressed, so references stay valid.
+ * An import is bounded by boards.import.max-entries and, per decoded entry, by
+ * boards.import.max-entry-bytes.
+ */
+@Service
+public class BoardArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardArchiveService.class);
+
+    private static final String BOARDS_ENTRY = "boards.ndjson";
+    private static final String ITEMS_ENTRY = "items.ndjson";
+    private static final String BLOB_PREFIX = "blobs/";
+    private static final String BLOB_META_SUFFIX = ".json";
+
+    private static final String INSERT_SQL = "INSERT INTO canvas_items "
+            + "(id, type, x, y, width, height, z_index, deleted, data, user_id, board_id, updated_at, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, false, ?, ?, ?, ?, 0)";
+
+    // One nextval per block of CanvasItem.ID_ALLOCATION_SIZE ids, as Hibernate draws them
+    private static final String RESERVE_IDS_SQL = "SELECT nextval('" + CanvasItem.ID_SEQUENCE + "') "
+            + "FROM generate_series(1, ?)";
+
+    private final CanvasItemRepository canvasItemRepository;
+    private final BoardRepository boardRepository;
+    private final UserRepository userRepository;
+    private final BlobStore blobStore;
+    private final StrokeCodec strokeCodec;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter recordWriter;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${boards.import.batch-size:500}")
+    private int importBatchSize;
+
+    @Value("${boards.import.max-entries:100000}")
+    private int maxImportEntries;
+
+    @Value("${boards.import.max-entry-bytes:268435456}")
+    private long maxImportEntryBytes;
+
+    public BoardArchiveService(CanvasItemRepository canvasItemRepository, BoardRepository boardRepository,
+            UserRepository userRepository, BlobStore blobStore, StrokeCodec strokeCodec, ObjectMapper objectMapper,
+            JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+        this.canvasItemRepository = canvasItemRepository;
+        this.boardRepository = boardRepository;
+        this.userRepository = userRepository;
+        this.blobStore = blobStore;
+        this.strokeCodec = strokeCodec;
+        this.objectMapper = objectMapper;
+        // The zip stream does the buffering; don't flush after every line
+        this.recordWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportBoards(Long userId, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out, 64 * 1024));
+
+        zip.putNextEntry(new ZipEntry(BOARDS_ENTRY));
+        try (JsonGenerator generator = ndjsonGenerator(zip)) {
+            for (Board board : boardRepository.findAllByUserIdOrderByIdAsc(userId)) {
+                recordWriter.writeValue(generator, new BoardRecord(board.getId(), board.getName()));
+                generator.writeRaw('\n');
+            }
+        }
+        zip.closeEntry();
+
+        // Hashes only; the blobs themselves are copied once the items are done
+        Set<String> blobHashes = new LinkedHashSet<>();
+        zip.putNextEntry(new ZipEntry(ITEMS_ENTRY));
+        try (Stream<CanvasItem> items = canvasItemRepository.streamLiveByUserId(userId);
+                JsonGenerator generator = ndjsonGenerator(zip)) {
+            for (CanvasItem item : (Iterable<CanvasItem>) items::iterator) {
+                String data = StrokeCodec.isEncoded(item.getData())
+                        ? strokeCodec.decode(item.getData(), null)
+                        : item.getData();
+                recordWriter.writeValue(generator, new ItemRecord(item.getId(), item.getBoardId(), item.getType(),
+                        item.getX(), item.getY(), item.getWidth(), item.getHeight(), item.getZIndex(), data));
+                generator.writeRaw('\n');
+                collectBlobHashes(data, blobHashes);
+                entityManager.detach(item);
+            }
+        }
+        zip.closeEntry();
+
+        for (String hash : blobHashes) {
+            Optional<Blob> blob = blobStore.find(hash);
+            if (blob.isEmpty()) {
+                continue;
+            }
+
+            zip.putNextEntry(new ZipEntry(BLOB_PREFIX + hash + BLOB_META_SUFFIX));
+            zip.write(objectMapper.writeValueAsBytes(new BlobRecord(blob.get().getContentType())));
+            zip.closeEntry();
+
+            zip.putNextEntry(new ZipEntry(BLOB_PREFIX + hash));
+            Files.copy(blobStore.pathFor(hash), zip);
+            zip.closeEntry();
+        }
+
+        zip.finish();
+        zip.flush();
+    }
+
+    /**
+     * Reads an archive produced by exportBoards entry by entry. Items are inserted
+     * with batched JDBC statements of boards.import.batch-size rows; the whole import
+     * is one transaction, so a broken archive leaves the account untouched. Blob files
+     * are staged and only moved into the store once it commits.
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public ImportResult importBoards(Long userId, InputStream in) throws IOException {
+        ZipInputStream zip = new ZipInputStream(in);
+        Map<Long, Long> boardIds = new HashMap<>();
+        ImportResult result = new ImportResult();
+        String blobContentType = null;
+        List<StagedBlob> stagedBlobs = new ArrayList<>();
+        promoteAfterCommit(stagedBlobs);
+
+        int entries = 0;
+        for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+            if (++entries > maxImportEntries) {
+                throw new ImportLimitException("Archive has more than " + maxImportEntries + " entries");
+            }
+
+            String name = entry.getName();
+            InputStream content = entryContent(zip, name);
+            if (name.equals(BOARDS_ENTRY)) {
+                try (MappingIterator<BoardRecord> boards = objectMapper.readerFor(BoardRecord.class)
+                        .readValues(content)) {
+                    while (boards.hasNext()) {
+                        BoardRecord record = boards.next();
+                        Board board = boardRepository.save(new Board(record.name(),
+                                userRepository.getReferenceById(userId)));
+                        boardIds.put(record.id(), board.getId());
+                        result.boards++;
+                    }
+                }
+            } else if (name.equals(ITEMS_ENTRY)) {
+                try (MappingIterator<ItemRecord> items = objectMapper.readerFor(ItemRecord.class)
+                        .readValues(content)) {
+                    List<ItemRecord> chunk = new ArrayList<>(importBatchSize);
+                    while (items.hasNext()) {
+                        chunk.add(items.next());
+                        if (chunk.size() == importBatchSize) {
+                            insertItems(userId, chunk, boardIds);
+                            result.items += chunk.size();
+                            chunk.clear();
+                        }
+                    }
+                    insertItems(userId, chunk, boardIds);
+                    result.items += chunk.size();
+                }
+            } else if (name.startsWith(BLOB_PREFIX) && name.endsWith(BLOB_META_SUFFIX)) {
+                blobContentType = objectMapper.readValue(content, BlobRecord.class).contentType();
+            } else if (name.startsWith(BLOB_PREFIX) && BlobStore.isValidHash(name.substring(BLOB_PREFIX.length()))) {
+                StagedBlob staged = blobStore.stage(content, blobContentType);
+                stagedBlobs.add(staged);
+                blobContentType = null;
+                if (!staged.blob().getHash().equals(name.substring(BLOB_PREFIX.length()))) {
+                    log.warn("Imported blob {} has hash {}", name, staged.blob().getHash());
+                }
+                result.blobs++;
+            } else {
+                // Skipped, but still read through the size limit
+                content.transferTo(OutputStream.nullOutputStream());
+            }
+        }
+
+        // ZipInputStream reads a body without any local header as an empty archive
+        if (entries == 0) {
+            throw new ZipException("Not a zip archive");
+        }
+
+        // Sockets, the board snapshot and the thumbnail pick the new items up after commit
+        eventPublisher.publishEvent(new BoardChangeEvent(userId, null, BoardChangeEvent.Kind.RESYNC, null));
+        return result;
+    }
+
+    // Blob files only enter the store once the rows referencing them are committed
+    private void promoteAfterCommit(List<StagedBlob> stagedBlobs) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (StagedBlob staged : stagedBlobs) {
+                    try {
+                        blobStore.promote(staged);
+                    } catch (IOException e) {
+                        log.warn("Could not store imported blob {}", staged.blob().getHash(), e);
+                    }
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                for (StagedBlob staged : stagedBlobs) {
+                    try {
+                        blobStore.discard(staged);
+                    } catch (IOException e) {
+                        log.warn("Could not delete staged blob {}", staged.temp(), e);
+                    }
+                }
+            }
+        });
+    }
+
+    private void insertItems(Long userId, List<ItemRecord> chunk, Map<Long, Long> boardIds) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // Pooled-lo blocks: each value is the first of ID_ALLOCATION_SIZE ids no one else gets
+        int blockSize = CanvasItem.ID_ALLOCATION_SIZE;
+        List<Long> blocks = jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class,
+                (chunk.size() + blockSize - 1) / blockSize);
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ItemRecord item = chunk.get(i);
+                ps.setLong(1, blocks.get(i / blockSize) + i % blockSize);
+                ps.setString(2, item.type());
+                ps.setDouble(3, item.x());
+                ps.setDouble(4, item.y());
+                ps.setDouble(5, item.width());
+                ps.setDouble(6, item.height());
+                ps.setInt(7, item.zIndex());
+                // Stored the way the controller stores it
+                ps.setString(8, StrokeCodec.FREE_DRAW.equals(item.type())
+                        ? strokeCodec.encode(item.data())
+                        : item.data());
+                ps.setLong(9, userId);
+                ps.setObject(10, item.boardId() == null ? null : boardIds.get(item.boardId()), Types.BIGINT);
+                ps.setTimestamp(11, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return chunk.size();
+            }
+        });
+    }
+
+    private void collectBlobHashes(String data, Set<String> blobHashes) {
+        if (data == null || !data.contains("blobHash")) {
+            return;
+        }
+        try {
+            for (JsonNode hash : objectMapper.readTree(data).findValues("blobHash")) {
+                if (BlobStore.isValidHash(hash.asText())) {
+                    blobHashes.add(hash.asText());
+                }
+            }
+        } catch (IOException e) {
+            // Not JSON, so no references
+        }
+    }
+
+    private JsonGenerator ndjsonGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(unclosable(out));
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    /**
+     * The current entry's content, failing once it decodes past max-entry-bytes. The
+     * declared entry size can't be trusted, so the bytes actually read are counted.
+     * Closing it leaves the zip stream open for the next entry.
+     */
+    private InputStream entryContent(ZipInputStream zip, String name) {
+        return new FilterInputStream(zip) {
+            private long read;
+
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                count(b < 0 ? 0 : 1);
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                count(Math.max(n, 0));
+                return n;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long skipped = super.skip(n);
+                count(skipped);
+                return skipped;
+            }
+
+            @Override
+            public void close() {
+            }
+
+            private void count(long n) throws ImportLimitException {
+                read += n;
+                if (read > maxImportEntryBytes) {
+                    throw new ImportLimitException("Entry " + name + " exceeds " + maxImportEntryBytes + " bytes");
+                }
+            }
+        };
+    }
+
+    // Entries are written through the zip stream, which must stay open between them
+    private static OutputStream unclosable(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+
+    // The archive is over one of the import limits
+    public static class ImportLimitException extends IOException {
+        public ImportLimitException(String message) {
+            super(message);
+        }
+    }
+
+    public record BoardRecord(Long id, String name) {
+    }
+
+    public record ItemRecord(Long id, Long boardId, String type, double x, double y, double width, double height,
+            int zIndex, String data) {
+    }
+
+    public record BlobRecord(String contentType) {
+    }
+
+    public static class ImportResult {
+        private int boards;
+        private long items;
+        private int blobs;
+
+        public int getBoards() {
+            return boards;
+        }
+
+        public long getItems() {
+            return items;
+        }
+
+        public int getBlobs() {
+            return blobs;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.backenddailyboard.dailyboard.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.backenddailyboard.dailyboard.event.BoardChangeEvent;
+import com.backenddailyboard.dailyboard.util.ContentCoding;
+import com.backenddailyboard.dailyboard.util.WireFormat;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Per-user cache of the serialized GET /api/items body, one entry per wire format, so
+ * reloads of an unchanged board skip the query, the mapping and Jackson. Bounded by
+ * total bytes; any BoardChangeEvent for a user drops their snapshots.
+ *
+ * A snapshot built from a read that overlapped a write must not be stored, so every
+ * invalidation bumps a generation counter and put() only stores if the generation
+ * the caller captured before querying is still current. Counters are striped by user
+ * id to keep memory fixed; a collision only costs a skipped put.
+ */
+@Service
+public class BoardSnapshotCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<Key, Snapshot> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final boolean gzip;
+    private final int gzipMinBytes;
+    private final int gzipLevel;
+
+    public BoardSnapshotCache(MeterRegistry meterRegistry,
+            @Value("${items.snapshot-cache.max-bytes:67108864}") long maxBytes,
+            @Value("${items.snapshot-cache.gzip:true}") boolean gzip,
+            @Value("${items.snapshot-cache.gzip-min-bytes:1024}") int gzipMinBytes,
+            @Value("${http.compression.gzip-level:6}") int gzipLevel) {
+        this.gzip = gzip;
+        this.gzipMinBytes = gzipMinBytes;
+        this.gzipLevel = gzipLevel;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Snapshot snapshot) -> snapshot.body.length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "board.snapshots");
+    }
+
+    // Cached snapshot for a user in the given format, or null
+    public Snapshot get(Long userId, WireFormat format) {
+        return cache.getIfPresent(new Key(userId, format));
+    }
+
+    // Capture before querying and pass to put()
+    public long generation(Long userId) {
+        return generations.get(stripe(userId));
+    }
+
+    // Wraps a freshly serialized body; stores it unless the board changed since generation was read
+    public Snapshot put(Long userId, WireFormat format, long generation, byte[] body, String syncCursor) {
+        String hash = sha256(body);
+        Snapshot snapshot = gzip && body.length >= gzipMinBytes
+                ? new Snapshot(gzip(body), true, hash, syncCursor)
+                : new Snapshot(body, false, hash, syncCursor);
+
+        Key key = new Key(userId, format);
+        if (generations.get(stripe(userId)) == generation) {
+            cache.put(key, snapshot);
+            // An invalidation may have slipped in between the check and the put
+            if (generations.get(stripe(userId)) != generation) {
+                cache.invalidate(key);
+            }
+        }
+        return snapshot;
+    }
+
+    // Runs after commit for transactional writers, immediately otherwise
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChange(BoardChangeEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    public void invalidate(Long userId) {
+        generations.incrementAndGet(stripe(userId));
+        for (WireFormat format : WireFormat.values()) {
+            cache.invalidate(new Key(userId, format));
+        }
+    }
+
+    private static int stripe(Long userId) {
+        return Math.floorMod(Long.hashCode(userId), GENERATION_STRIPES);
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (OutputStream gzipOut = ContentCoding.GZIP.encoder(out, gzipLevel)) {
+            gzipOut.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Key(Long userId, WireFormat format) {
+    }
+
+    public static class Snapshot {
+        private final byte[] body;
+        private final boolean gzipped;
+        private final String hash;
+        private final String syncCursor;
+
+        Snapshot(byte[] body, boolean gzipped, String hash, String syncCursor) {
+            this.body = body;
+            this.gzipped = gzipped;
+            this.hash = hash;
+            this.syncCursor = syncCursor;
+        }
+
+        // Strong validator per representation, as required for content-coded bodies
+        public String etag(boolean gzipEncoded) {
+            String etag = "\"" + hash + "\"";
+            return gzipEncoded ? ContentCoding.GZIP.etag(etag) : etag;
+        }
+
+        // Any representation's ETag matches, the content behind them is the same
+        public boolean matches(String ifNoneMatch) {
+            return ifNoneMatch != null && (ifNoneMatch.trim().equals("*")
+                    || ifNoneMatch.contains(etag(false)) || ifNoneMatch.contains(etag(true))
+                    || ifNoneMatch.contains(ContentCoding.ZSTD.etag(etag(false))));
+        }
+
+        public boolean isGzipped() {
+            return gzipped;
+        }
+
+        // Stored bytes: gzip-encoded if isGzipped()
+        public byte[] getBody() {
+            return body;
+        }
+
+        // Uncompressed body, for the rare client that does not accept gzip
+        public byte[] identityBody() {
+            if (!gzipped) {
+                return body;
+            }
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        public String getSyncCursor() {
+            return syncCursor;
+        }
+    }
+}
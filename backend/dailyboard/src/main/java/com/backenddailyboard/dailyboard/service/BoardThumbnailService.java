@@ -0,0 +1,456 @@
+package com.backenddailyboard.dailyboard.service;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.backenddailyboard.dailyboard.controller.CanvasItemMapper;
+import com.backenddailyboard.dailyboard.event.BoardChangeEvent;
+import com.backenddailyboard.dailyboard.model.Board;
+import com.backenddailyboard.dailyboard.model.CanvasItem;
+import com.backenddailyboard.dailyboard.model.CanvasItemGeometry;
+import com.backenddailyboard.dailyboard.repository.BoardRepository;
+import com.backenddailyboard.dailyboard.repository.CanvasItemRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Renders small PNG previews in the background, for overviews and share previews:
+ * one per board, and one of the user's whole canvas (every live item, as
+ * GET /api/items lists them). A change schedules a render of the user's previews
+ * after a debounce delay; further changes inside that window ride along. Only the
+ * boards of the items that changed are redrawn, since the render reads them as they
+ * are when it runs; geometry still in the write buffer is drawn where clients see it.
+ * Renders run on a small fixed pool with a bounded queue; when it is full the render
+ * is skipped and the next change schedules a new one.
+ *
+ * Thumbnails are written to thumbnails.storage-dir as board-<boardId>.png and
+ * user-<userId>.png. Their ETag is the SHA-256 of the file, kept in memory, set only
+ * once the file is in place and recomputed from disk after a restart.
+ */
+@Service
+public class BoardThumbnailService {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardThumbnailService.class);
+
+    private static final Color BACKGROUND = Color.decode("#fafafa");
+    private static final Color BORDER = new Color(0, 0, 0, 60);
+    private static final Color DEFAULT_FILL = Color.decode("#e0e0e0");
+    private static final Color DEFAULT_STROKE = Color.decode("#222222");
+
+    // Matches ITEM_COLORS in the frontend where one exists
+    private static final Map<String, Color> TYPE_COLORS = Map.of(
+            "sticky_note", Color.decode("#FEEBF6"),
+            "todo_list", Color.decode("#EBD6FB"),
+            "goal_note", Color.decode("#FCD8CD"),
+            "link", Color.decode("#FEEBF6"),
+            "calendar", Color.decode("#D6EAFB"),
+            "image", Color.decode("#D0D0D0"));
+
+    // Item ids per query when looking up the boards of changed items
+    private static final int BOARD_LOOKUP_CHUNK = 1000;
+
+    private final CanvasItemRepository canvasItemRepository;
+    private final BoardRepository boardRepository;
+    private final CanvasItemMapper canvasItemMapper;
+    private final StrokeCodec strokeCodec;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler taskScheduler;
+    private final Timer renderTimer;
+    private final ThreadPoolExecutor workers;
+    private final Path root;
+    // Per user, what the scheduled render has to redraw; the entry exists while one is scheduled
+    private final ConcurrentHashMap<Long, PendingRender> pending = new ConcurrentHashMap<>();
+    // By file name, see fileName()
+    private final Cache<String, String> etags;
+
+    @Value("${thumbnails.enabled:true}")
+    private boolean enabled;
+
+    @Value("${thumbnails.debounce-ms:5000}")
+    private long debounceMs;
+
+    @Value("${thumbnails.width:320}")
+    private int width;
+
+    @Value("${thumbnails.height:200}")
+    private int height;
+
+    public BoardThumbnailService(CanvasItemRepository canvasItemRepository, BoardRepository boardRepository,
+            CanvasItemMapper canvasItemMapper, StrokeCodec strokeCodec, ObjectMapper objectMapper,
+            @Qualifier("taskScheduler") TaskScheduler taskScheduler, MeterRegistry meterRegistry,
+            @Value("${thumbnails.storage-dir:data/thumbnails}") String storageDir,
+            @Value("${thumbnails.workers:2}") int workerCount,
+            @Value("${thumbnails.queue-capacity:100}") int queueCapacity) {
+        this.canvasItemRepository = canvasItemRepository;
+        this.boardRepository = boardRepository;
+        this.canvasItemMapper = canvasItemMapper;
+        this.strokeCodec = strokeCodec;
+        this.objectMapper = objectMapper;
+        this.taskScheduler = taskScheduler;
+        this.renderTimer = Timer.builder("board.thumbnail.render").register(meterRegistry);
+        this.root = Paths.get(storageDir).toAbsolutePath().normalize();
+        this.etags = Caffeine.newBuilder().maximumSize(10_000).build();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // Runs after commit for transactional writers, immediately otherwise
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChange(BoardChangeEvent event) {
+        Long itemId = event.getItemId();
+        schedule(event.getUserId(), render -> {
+            render.canvas = true;
+            if (itemId == null) {
+                // An import or another change to many items at once
+                render.allBoards = true;
+            } else {
+                render.itemIds.add(itemId);
+            }
+        });
+    }
+
+    // A render of one board's preview, or of the whole canvas for a null boardId
+    public void requestRender(Long userId, Long boardId) {
+        schedule(userId, render -> {
+            if (boardId == null) {
+                render.canvas = true;
+            } else {
+                render.boardIds.add(boardId);
+            }
+        });
+    }
+
+    private void schedule(Long userId, Consumer<PendingRender> change) {
+        if (!enabled || userId == null) {
+            return;
+        }
+
+        // Changed inside compute, so a change can't land in a render that was already taken
+        boolean[] first = new boolean[1];
+        pending.compute(userId, (id, render) -> {
+            if (render == null) {
+                render = new PendingRender();
+                first[0] = true;
+            }
+            change.accept(render);
+            return render;
+        });
+        if (!first[0]) {
+            return;
+        }
+
+        taskScheduler.schedule(() -> {
+            // Taken before rendering so a change during the render schedules another one
+            PendingRender render = pending.remove(userId);
+            try {
+                workers.execute(() -> render(userId, render));
+            } catch (RejectedExecutionException e) {
+                log.debug("Thumbnail queue full, skipping render for user {}", userId);
+            }
+        }, Instant.now().plus(Duration.ofMillis(debounceMs)));
+    }
+
+    public Optional<Path> find(Long userId, Long boardId) {
+        Path path = pathFor(fileName(userId, boardId));
+        return Files.exists(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    // Strong ETag of the stored thumbnail; loaded under the same entry lock render() moves the file under
+    public String etag(Long userId, Long boardId) throws IOException {
+        try {
+            return "\"" + etags.get(fileName(userId, boardId), name -> {
+                try {
+                    return sha256(Files.readAllBytes(pathFor(name)));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }) + "\"";
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    void render(Long userId, PendingRender render) {
+        Set<Long> boardIds = new LinkedHashSet<>(render.boardIds);
+        try {
+            if (render.allBoards) {
+                for (Board board : boardRepository.findAllByUserIdOrderByIdAsc(userId)) {
+                    boardIds.add(board.getId());
+                }
+            } else {
+                boardIds.addAll(boardsOf(render.itemIds));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not find the boards to render for user {}", userId, e);
+        }
+
+        if (render.canvas) {
+            renderThumbnail(userId, null);
+        }
+        for (Long boardId : boardIds) {
+            renderThumbnail(userId, boardId);
+        }
+    }
+
+    private void renderThumbnail(Long userId, Long boardId) {
+        renderTimer.record(() -> {
+            try {
+                List<CanvasItem> items = boardId == null
+                        ? canvasItemRepository.findLiveByUserId(userId)
+                        : canvasItemRepository.findLiveByBoardId(boardId);
+                byte[] png = renderPng(userId, items);
+                String hash = sha256(png);
+                Files.createDirectories(root);
+                Path temp = Files.createTempFile(root, "thumbnail-", ".tmp");
+                try {
+                    Files.write(temp, png);
+                    // The ETag changes only once the file it describes is in place, and two renders
+                    // of one board can't interleave their moves and ETag updates
+                    etags.asMap().compute(fileName(userId, boardId), (name, previous) -> {
+                        try {
+                            Files.move(temp, pathFor(name), StandardCopyOption.REPLACE_EXISTING,
+                                    StandardCopyOption.ATOMIC_MOVE);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        return hash;
+                    });
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Thumbnail render failed for user {} board {}", userId, boardId, e);
+            }
+        });
+    }
+
+    // Boards the items are on; items never move between boards, so deleted ones still tell
+    private Set<Long> boardsOf(Set<Long> itemIds) {
+        Set<Long> boardIds = new HashSet<>();
+        List<Long> ids = new ArrayList<>(itemIds);
+        for (int from = 0; from < ids.size(); from += BOARD_LOOKUP_CHUNK) {
+            Collection<Long> chunk = ids.subList(from, Math.min(from + BOARD_LOOKUP_CHUNK, ids.size()));
+            boardIds.addAll(canvasItemRepository.findBoardIdsByIdIn(chunk));
+        }
+        return boardIds;
+    }
+
+    private byte[] renderPng(Long userId, List<CanvasItem> items) throws IOException {
+        // Each item's data is parsed (and its strokes decoded) once, for bounds and drawing
+        List<Drawable> drawables = new ArrayList<>(items.size());
+        Rectangle2D bounds = null;
+        for (CanvasItem item : items) {
+            CanvasItemGeometry geometry = canvasItemMapper.withPending(userId, new CanvasItemGeometry(item.getId(),
+                    item.getType(), item.getX(), item.getY(), item.getWidth(), item.getHeight(), item.getZIndex(),
+                    item.isDeleted(), item.getVersion()));
+            JsonNode itemData = parse(item.getData());
+            List<double[]> itemStrokes = strokesOf(geometry, itemData);
+            drawables.add(new Drawable(geometry, itemData, itemStrokes));
+
+            Rectangle2D itemBounds = new Rectangle2D.Double(geometry.getX(), geometry.getY(),
+                    Math.max(geometry.getWidth(), 1), Math.max(geometry.getHeight(), 1));
+            for (double[] points : itemStrokes) {
+                for (int i = 0; i + 1 < points.length; i += 2) {
+                    itemBounds.add(geometry.getX() + points[i], geometry.getY() + points[i + 1]);
+                }
+            }
+            bounds = bounds == null ? itemBounds : bounds.createUnion(itemBounds);
+        }
+        drawables.sort(Comparator.comparingInt(drawable -> drawable.geometry().getZIndex()));
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setColor(BACKGROUND);
+            g.fillRect(0, 0, width, height);
+
+            if (bounds != null) {
+                // Fit the whole board with a small margin, never scaling up
+                double margin = 8;
+                double scale = Math.min(1, Math.min((width - 2 * margin) / bounds.getWidth(),
+                        (height - 2 * margin) / bounds.getHeight()));
+                AffineTransform transform = new AffineTransform();
+                transform.translate((width - bounds.getWidth() * scale) / 2, (height - bounds.getHeight() * scale) / 2);
+                transform.scale(scale, scale);
+                transform.translate(-bounds.getX(), -bounds.getY());
+                g.transform(transform);
+
+                for (Drawable drawable : drawables) {
+                    draw(g, drawable, scale);
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private void draw(Graphics2D g, Drawable drawable, double scale) {
+        CanvasItemGeometry item = drawable.geometry();
+        JsonNode data = drawable.data();
+        List<double[]> itemStrokes = drawable.strokes();
+        if (StrokeCodec.FREE_DRAW.equals(item.getType())) {
+            JsonNode strokeNodes = data == null ? null : data.path("strokes");
+            for (int s = 0; s < itemStrokes.size(); s++) {
+                double[] points = itemStrokes.get(s);
+                if (points.length < 4) {
+                    continue;
+                }
+                JsonNode stroke = strokeNodes != null ? strokeNodes.path(s) : null;
+                if (stroke != null && stroke.path("eraser").asBoolean(false)) {
+                    continue;
+                }
+
+                Path2D path = new Path2D.Double();
+                path.moveTo(item.getX() + points[0], item.getY() + points[1]);
+                for (int i = 2; i + 1 < points.length; i += 2) {
+                    path.lineTo(item.getX() + points[i], item.getY() + points[i + 1]);
+                }
+                float size = stroke != null ? (float) stroke.path("size").asDouble(2) : 2f;
+                // Keep strokes visible after downscaling
+                g.setStroke(new BasicStroke((float) Math.max(size, 1 / scale), BasicStroke.CAP_ROUND,
+                        BasicStroke.JOIN_ROUND));
+                g.setColor(color(stroke != null ? stroke.path("color").asText(null) : null, DEFAULT_STROKE));
+                g.draw(path);
+            }
+            return;
+        }
+
+        Rectangle2D rect = new Rectangle2D.Double(item.getX(), item.getY(), item.getWidth(), item.getHeight());
+        Color fill = color(data != null ? data.path("color").asText(null) : null,
+                TYPE_COLORS.getOrDefault(item.getType(), DEFAULT_FILL));
+        g.setColor(fill);
+        g.fill(rect);
+        g.setColor(BORDER);
+        g.setStroke(new BasicStroke((float) (1 / scale)));
+        g.draw(rect);
+    }
+
+    private static List<double[]> strokesOf(CanvasItemGeometry item, JsonNode data) {
+        List<double[]> result = new ArrayList<>();
+        if (!StrokeCodec.FREE_DRAW.equals(item.getType()) || data == null) {
+            return result;
+        }
+
+        for (JsonNode stroke : data.path("strokes")) {
+            JsonNode points = stroke.path("points");
+            double[] values = new double[points.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = points.get(i).asDouble();
+            }
+            result.add(values);
+        }
+        return result;
+    }
+
+    // Item data as JSON, with free-draw strokes decoded; null if it isn't JSON
+    private JsonNode parse(String data) {
+        if (data == null || data.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(strokeCodec.decode(data, null));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Color color(String value, Color fallback) {
+        if (value == null || !value.matches("#[0-9a-fA-F]{6}")) {
+            return fallback;
+        }
+        return Color.decode(value);
+    }
+
+    private static String fileName(Long userId, Long boardId) {
+        return boardId != null ? "board-" + boardId : "user-" + userId;
+    }
+
+    private Path pathFor(String fileName) {
+        return root.resolve(fileName + ".png");
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    // One user's previews to redraw; only touched inside pending.compute until it is taken
+    static final class PendingRender {
+        private final Set<Long> itemIds = new HashSet<>();
+        private final Set<Long> boardIds = new HashSet<>();
+        private boolean canvas;
+        private boolean allBoards;
+    }
+
+    private record Drawable(CanvasItemGeometry geometry, JsonNode data, List<double[]> strokes) {
+    }
+}
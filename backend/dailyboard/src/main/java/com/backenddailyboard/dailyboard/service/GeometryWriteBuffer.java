@@ -0,0 +1,237 @@
+package com.backenddailyboard.dailyboard.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.backenddailyboard.dailyboard.event.BoardChangeEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind buffer for high-frequency geometry updates (drag/resize).
+ * Updates are merged per item id, last writer wins per field, and flushed
+ * on a fixed delay as one batched UPDATE that never touches the data column.
+ * The flush bumps each row's version, so it publishes a PATCH with the new
+ * version once written; that also drops snapshots read before the flush.
+ */
+@Service
+public class GeometryWriteBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(GeometryWriteBuffer.class);
+
+    // Only applies a buffered write if no newer full write landed since it was received
+    private static final String FLUSH_SQL = "UPDATE canvas_items SET "
+            + "x = COALESCE(?, x), y = COALESCE(?, y), "
+            + "width = COALESCE(?, width), height = COALESCE(?, height), "
+            + "z_index = COALESCE(?, z_index), updated_at = ?, version = version + 1 "
+            + "WHERE id = ? AND user_id = ? AND (updated_at IS NULL OR updated_at <= ?)";
+
+    private static final String VERSIONS_SQL = "SELECT id, user_id, version FROM canvas_items WHERE id IN (%s)";
+    private static final int VERSIONS_CHUNK = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    // Keyed by owner and item, so a write against someone else's id can't displace the owner's
+    private final Map<Key, PendingGeometry> pending = new ConcurrentHashMap<>();
+
+    public GeometryWriteBuffer(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void submit(Long userId, Long itemId, Double x, Double y, Double width, Double height, Integer zIndex) {
+        PendingGeometry update = new PendingGeometry(userId, itemId, x, y, width, height, zIndex,
+                System.currentTimeMillis());
+        pending.merge(new Key(userId, itemId), update, PendingGeometry::mergedWith);
+    }
+
+    // Buffered, not yet flushed geometry for an item, or null
+    public PendingGeometry pending(Long userId, Long itemId) {
+        return pending.get(new Key(userId, itemId));
+    }
+
+    // Remove and return buffered geometry so the caller can write it along with its own update
+    public PendingGeometry take(Long userId, Long itemId) {
+        return pending.remove(new Key(userId, itemId));
+    }
+
+    // Drop buffered geometry for an item that is about to be written in full or deleted
+    public void discard(Long userId, Long itemId) {
+        pending.remove(new Key(userId, itemId));
+    }
+
+    @Scheduled(fixedDelayString = "${items.write-behind.flush-interval-ms:200}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<PendingGeometry> batch = new ArrayList<>(pending.size());
+        for (Key key : pending.keySet()) {
+            PendingGeometry update = pending.remove(key);
+            if (update != null) {
+                batch.add(update);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        int[] counts;
+        try {
+            counts = jdbcTemplate.batchUpdate(FLUSH_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    PendingGeometry update = batch.get(i);
+                    Timestamp receivedAt = new Timestamp(update.receivedAt);
+                    ps.setObject(1, update.x, Types.DOUBLE);
+                    ps.setObject(2, update.y, Types.DOUBLE);
+                    ps.setObject(3, update.width, Types.DOUBLE);
+                    ps.setObject(4, update.height, Types.DOUBLE);
+                    ps.setObject(5, update.zIndex, Types.INTEGER);
+                    ps.setTimestamp(6, receivedAt);
+                    ps.setLong(7, update.itemId);
+                    ps.setLong(8, update.userId);
+                    ps.setTimestamp(9, receivedAt);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            });
+        } catch (RuntimeException e) {
+            // Put the updates back without overriding anything that arrived meanwhile
+            log.warn("Geometry flush of {} items failed, will retry", batch.size(), e);
+            for (PendingGeometry update : batch) {
+                pending.merge(new Key(update.userId, update.itemId), update,
+                        (newer, older) -> older.mergedWith(newer));
+            }
+            return;
+        }
+
+        List<Long> written = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            // 0 = skipped for a newer full write, or not the user's item
+            if (counts[i] != 0) {
+                written.add(batch.get(i).itemId);
+            }
+        }
+        try {
+            publishVersions(written);
+        } catch (RuntimeException e) {
+            log.warn("Could not publish versions of {} flushed items", written.size(), e);
+        }
+    }
+
+    // The rows are committed, so listeners run right away
+    private void publishVersions(List<Long> itemIds) {
+        for (int from = 0; from < itemIds.size(); from += VERSIONS_CHUNK) {
+            List<Long> chunk = itemIds.subList(from, Math.min(from + VERSIONS_CHUNK, itemIds.size()));
+            String sql = String.format(VERSIONS_SQL, String.join(",", Collections.nCopies(chunk.size(), "?")));
+            jdbcTemplate.query(sql, rs -> {
+                eventPublisher.publishEvent(new BoardChangeEvent(rs.getLong("user_id"), rs.getLong("id"),
+                        BoardChangeEvent.Kind.PATCH, Map.of("version", rs.getLong("version"))));
+            }, chunk.toArray());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private record Key(Long userId, Long itemId) {
+    }
+
+    public static class PendingGeometry {
+        private final Long userId;
+        private final Long itemId;
+        private final Double x;
+        private final Double y;
+        private final Double width;
+        private final Double height;
+        private final Integer zIndex;
+        private final long receivedAt;
+
+        PendingGeometry(Long userId, Long itemId, Double x, Double y, Double width, Double height,
+                Integer zIndex, long receivedAt) {
+            this.userId = userId;
+            this.itemId = itemId;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.zIndex = zIndex;
+            this.receivedAt = receivedAt;
+        }
+
+        // Fields present in the newer update win, the rest are kept
+        PendingGeometry mergedWith(PendingGeometry newer) {
+            return new PendingGeometry(
+                    userId,
+                    itemId,
+                    newer.x != null ? newer.x : x,
+                    newer.y != null ? newer.y : y,
+                    newer.width != null ? newer.width : width,
+                    newer.height != null ? newer.height : height,
+                    newer.zIndex != null ? newer.zIndex : zIndex,
+                    Math.max(receivedAt, newer.receivedAt));
+        }
+
+        public Double getX() {
+            return x;
+        }
+
+        public Double getY() {
+            return y;
+        }
+
+        public Double getWidth() {
+            return width;
+        }
+
+        public Double getHeight() {
+            return height;
+        }
+
+        public Integer getZIndex() {
+            return zIndex;
+        }
+
+        public double xOr(double fallback) {
+            return x != null ? x : fallback;
+        }
+
+        public double yOr(double fallback) {
+            return y != null ? y : fallback;
+        }
+
+        public double widthOr(double fallback) {
+            return width != null ? width : fallback;
+        }
+
+        public double heightOr(double fallback) {
+            return height != null ? height : fallback;
+        }
+
+        public int zIndexOr(int fallback) {
+            return zIndex != null ? zIndex : fallback;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.backenddailyboard.dailyboard.service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Size distribution of the data column on writes, tagged by item type. Types come
+ * from the client, so anything outside the frontend's ITEM_TYPES is reported as
+ * "other" to keep the series count fixed; summaries are cached per type so the hot
+ * path is a map lookup and a record.
+ */
+@Component
+public class ItemMetrics {
+
+    private static final Set<String> KNOWN_TYPES = Set.of(
+            "sticky_note", "todo_list", "goal_note", "free_draw", "calendar", "link", "image");
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> dataSizes = new ConcurrentHashMap<>();
+
+    public ItemMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordDataSize(String type, String data) {
+        if (data == null) {
+            return;
+        }
+
+        String tag = type != null && KNOWN_TYPES.contains(type) ? type : "other";
+        dataSizes.computeIfAbsent(tag, t -> DistributionSummary.builder("items.data.size")
+                .description("Length of canvas_items.data on write, in characters")
+                .baseUnit("characters")
+                .tag("type", t)
+                .serviceLevelObjectives(256, 1024, 4096, 16384, 65536, 262144, 1048576)
+                .register(meterRegistry))
+                .record(data.length());
+    }
+}
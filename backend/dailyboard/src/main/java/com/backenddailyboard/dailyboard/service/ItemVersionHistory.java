@@ -0,0 +1,85 @@
+package com.backenddailyboard.dailyboard.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * The last few revisions of recently written items, as clients saw them. A write
+ * based on an older version uses the revision it started from as the base of a
+ * three-way merge instead of being rejected outright.
+ *
+ * Only writes that change data are recorded; buffered geometry flushes bump the
+ * version without an entry, so a lookup returns the newest revision at or below the
+ * requested version. Its data is exact, its geometry may lag behind. Nothing is
+ * known from before the first write this process saw, so those lookups miss.
+ */
+@Service
+public class ItemVersionHistory {
+
+    private final Cache<Long, List<Revision>> cache;
+    private final int revisionsPerItem;
+
+    public ItemVersionHistory(MeterRegistry meterRegistry,
+            @Value("${items.history.max-bytes:16777216}") long maxBytes,
+            @Value("${items.history.revisions-per-item:8}") int revisionsPerItem) {
+        this.revisionsPerItem = revisionsPerItem;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long itemId, List<Revision> revisions) -> revisions.stream()
+                        .mapToInt(revision -> 64 + (revision.data() == null ? 0 : revision.data().length()))
+                        .sum())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "items.history");
+    }
+
+    public void record(Long itemId, Revision revision) {
+        cache.asMap().compute(itemId, (id, revisions) -> {
+            List<Revision> updated = new ArrayList<>(revisionsPerItem + 1);
+            if (revisions != null) {
+                for (Revision existing : revisions) {
+                    // A rolled-back write may have left an entry for a version that was reused
+                    if (existing.version() < revision.version()) {
+                        updated.add(existing);
+                    }
+                }
+            }
+            updated.add(revision);
+            return List.copyOf(updated.subList(Math.max(0, updated.size() - revisionsPerItem), updated.size()));
+        });
+    }
+
+    // The state a write based on version started from, or null if it is no longer known
+    public Revision find(Long itemId, long version) {
+        List<Revision> revisions = cache.getIfPresent(itemId);
+        if (revisions == null || revisions.get(0).version() > version) {
+            return null;
+        }
+
+        Revision base = null;
+        for (Revision revision : revisions) {
+            if (revision.version() <= version) {
+                base = revision;
+            }
+        }
+        return base;
+    }
+
+    // For writes that change data without a revision to record
+    public void forget(Long itemId) {
+        cache.invalidate(itemId);
+    }
+
+    public record Revision(long version, String type, double x, double y, double width, double height, int zIndex,
+            String data) {
+    }
+}
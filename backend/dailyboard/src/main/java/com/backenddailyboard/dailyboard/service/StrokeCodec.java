@@ -0,0 +1,390 @@
+package com.backenddailyboard.dailyboard.service;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Storage format for free_draw items. Clients send strokes as the canvas draws them,
+ * {"points":[x,y,...],"color":..,"size":..} or {"strokes":[...]}; before storing, each
+ * stroke is simplified (Ramer-Douglas-Peucker), quantized to 1/scale px and delta
+ * encoded as zigzag varints. The stored data is a header line followed by one line per
+ * stroke, so strokes can be appended with a string concatenation in SQL:
+ *
+ *   {"format":"strokes/v1","scale":10}
+ *   {"color":"#222","size":3,"eraser":false,"n":120,"p":"<base64url varints>"}
+ *
+ * Reads decode back to {"strokes":[{"points":[...],"color":..,"size":..,"eraser":..}]},
+ * optionally simplified further for a zoomed-out view. Data that isn't strokes JSON is
+ * stored and returned unchanged.
+ */
+@Component
+public class StrokeCodec {
+
+    public static final String FREE_DRAW = "free_draw";
+    public static final String HEADER_PREFIX = "{\"format\":\"strokes/v1\"";
+
+    private final ObjectMapper objectMapper;
+
+    // Max distance in px a simplified stroke may deviate from the drawn one
+    @Value("${strokes.simplify-tolerance:0.5}")
+    private double tolerance;
+
+    // Quantization steps per px; stored in the header so changing it keeps old data readable
+    @Value("${strokes.scale:10}")
+    private int scale;
+
+    public StrokeCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public static boolean isEncoded(String data) {
+        return data != null && data.startsWith(HEADER_PREFIX);
+    }
+
+    // Compact form of strokes JSON; anything else (including already encoded data) is returned as is
+    public String encode(String data) {
+        if (data == null || isEncoded(data)) {
+            return data;
+        }
+        String lines = encodeLines(data);
+        return lines == null ? data : header(scale) + lines;
+    }
+
+    /**
+     * Encoded stroke lines (each starting with a newline) for appending to data that is
+     * already encoded with the given scale, or null if data holds no strokes.
+     */
+    public String encodeLines(String data) {
+        return encodeLines(data, scale);
+    }
+
+    public String encodeLines(String data, int targetScale) {
+        List<Stroke> strokes = parse(data);
+        return strokes == null ? null : encodeLines(strokes, targetScale);
+    }
+
+    /**
+     * Strokes of client data, simplified, or null if data holds no strokes. For writers
+     * that need both the encoded lines and the strokes themselves, so data is parsed once.
+     */
+    public List<Stroke> parse(String data) {
+        List<JsonNode> nodes = parseStrokes(data);
+        if (nodes == null) {
+            return null;
+        }
+
+        List<Stroke> strokes = new ArrayList<>(nodes.size());
+        for (JsonNode node : nodes) {
+            double[] points = toPoints(node.get("points"));
+            if (points == null) {
+                return null;
+            }
+            ObjectNode attributes = objectMapper.createObjectNode();
+            copyIfPresent(node, attributes, "color");
+            copyIfPresent(node, attributes, "size");
+            copyIfPresent(node, attributes, "eraser");
+            strokes.add(new Stroke(simplify(points, tolerance), attributes));
+        }
+        return strokes;
+    }
+
+    public String encodeLines(List<Stroke> strokes, int targetScale) {
+        StringBuilder lines = new StringBuilder();
+        for (Stroke stroke : strokes) {
+            ObjectNode line = stroke.attributes().deepCopy();
+            line.put("n", stroke.points().length / 2);
+            line.put("p", pack(stroke.points(), targetScale));
+            lines.append('\n').append(write(line));
+        }
+        return lines.toString();
+    }
+
+    // Strokes as a read of data encoded at targetScale returns them, quantized to its steps
+    public ArrayNode toClientStrokes(List<Stroke> strokes, int targetScale) {
+        ArrayNode result = objectMapper.createArrayNode();
+        for (Stroke stroke : strokes) {
+            ObjectNode node = result.addObject();
+            ArrayNode pointArray = node.putArray("points");
+            for (double value : stroke.points()) {
+                pointArray.add(Math.round(value * targetScale) / (double) targetScale);
+            }
+            node.setAll(stroke.attributes());
+        }
+        return result;
+    }
+
+    // Scale of encoded data, read from its header
+    public int scaleOf(String encoded) {
+        try {
+            return objectMapper.readTree(encoded.substring(0, headerEnd(encoded))).path("scale").asInt(scale);
+        } catch (JsonProcessingException e) {
+            return scale;
+        }
+    }
+
+    /**
+     * Client form of stored data. At zoom below 1 strokes are simplified further, with
+     * the tolerance scaled by 1/zoom so the error stays under a screen pixel-fraction.
+     */
+    public String decode(String data, Double zoom) {
+        if (!isEncoded(data)) {
+            return data;
+        }
+
+        int end = headerEnd(data);
+        int dataScale = scaleOf(data);
+        double zoomTolerance = zoom != null && zoom > 0 && zoom < 1 ? tolerance / zoom : 0;
+
+        ObjectNode result = objectMapper.createObjectNode();
+        ArrayNode strokes = result.putArray("strokes");
+        for (String lineText : data.substring(end).split("\n")) {
+            if (lineText.isBlank()) {
+                continue;
+            }
+            JsonNode line;
+            try {
+                line = objectMapper.readTree(lineText);
+            } catch (JsonProcessingException e) {
+                continue;
+            }
+
+            double[] points = unpack(line.path("p").asText(""), line.path("n").asInt(0), dataScale);
+            if (zoomTolerance > 0) {
+                points = simplify(points, zoomTolerance);
+            }
+
+            ObjectNode stroke = strokes.addObject();
+            ArrayNode pointArray = stroke.putArray("points");
+            for (double value : points) {
+                pointArray.add(value);
+            }
+            copyIfPresent(line, stroke, "color");
+            copyIfPresent(line, stroke, "size");
+            copyIfPresent(line, stroke, "eraser");
+        }
+        return write(result);
+    }
+
+    public static String header(int scale) {
+        return HEADER_PREFIX + ",\"scale\":" + scale + "}";
+    }
+
+    // Accepts a single stroke, {"strokes":[...]} or a bare array of strokes
+    private List<JsonNode> parseStrokes(String data) {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(data);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+        if (root == null) {
+            return null;
+        }
+
+        List<JsonNode> strokes = new ArrayList<>();
+        if (root.isObject() && root.has("points")) {
+            strokes.add(root);
+        } else if (root.isObject() && root.path("strokes").isArray()) {
+            root.get("strokes").forEach(strokes::add);
+        } else if (root.isArray()) {
+            root.forEach(strokes::add);
+        } else {
+            return null;
+        }
+        return strokes;
+    }
+
+    private static double[] toPoints(JsonNode node) {
+        if (node == null || !node.isArray() || node.size() % 2 != 0) {
+            return null;
+        }
+        double[] points = new double[node.size()];
+        for (int i = 0; i < points.length; i++) {
+            if (!node.get(i).isNumber()) {
+                return null;
+            }
+            points[i] = node.get(i).asDouble();
+        }
+        return points;
+    }
+
+    /**
+     * Ramer-Douglas-Peucker over interleaved x,y pairs, iterative so long strokes can't
+     * overflow the stack. Endpoints are always kept.
+     */
+    static double[] simplify(double[] points, double epsilon) {
+        int count = points.length / 2;
+        if (count <= 2 || epsilon <= 0) {
+            return points;
+        }
+
+        boolean[] keep = new boolean[count];
+        keep[0] = true;
+        keep[count - 1] = true;
+
+        int[] stack = new int[count * 2];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = count - 1;
+        double epsilonSquared = epsilon * epsilon;
+
+        while (top > 0) {
+            int last = stack[--top];
+            int first = stack[--top];
+
+            double maxDistance = 0;
+            int index = -1;
+            for (int i = first + 1; i < last; i++) {
+                double distance = segmentDistanceSquared(points, i, first, last);
+                if (distance > maxDistance) {
+                    maxDistance = distance;
+                    index = i;
+                }
+            }
+
+            if (index >= 0 && maxDistance > epsilonSquared) {
+                keep[index] = true;
+                stack[top++] = first;
+                stack[top++] = index;
+                stack[top++] = index;
+                stack[top++] = last;
+            }
+        }
+
+        int kept = 0;
+        for (boolean k : keep) {
+            if (k) {
+                kept++;
+            }
+        }
+        double[] result = new double[kept * 2];
+        int j = 0;
+        for (int i = 0; i < count; i++) {
+            if (keep[i]) {
+                result[j++] = points[i * 2];
+                result[j++] = points[i * 2 + 1];
+            }
+        }
+        return result;
+    }
+
+    private static double segmentDistanceSquared(double[] points, int p, int a, int b) {
+        double px = points[p * 2], py = points[p * 2 + 1];
+        double ax = points[a * 2], ay = points[a * 2 + 1];
+        double bx = points[b * 2], by = points[b * 2 + 1];
+        double dx = bx - ax, dy = by - ay;
+        double lengthSquared = dx * dx + dy * dy;
+        if (lengthSquared == 0) {
+            return (px - ax) * (px - ax) + (py - ay) * (py - ay);
+        }
+        double t = Math.max(0, Math.min(1, ((px - ax) * dx + (py - ay) * dy) / lengthSquared));
+        double cx = ax + t * dx, cy = ay + t * dy;
+        return (px - cx) * (px - cx) + (py - cy) * (py - cy);
+    }
+
+    // Quantize, delta against the previous x/y, zigzag, varint, base64url
+    private static String pack(double[] points, int scale) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(points.length * 2);
+        long previousX = 0;
+        long previousY = 0;
+        for (int i = 0; i < points.length; i += 2) {
+            long x = Math.round(points[i] * scale);
+            long y = Math.round(points[i + 1] * scale);
+            writeVarint(out, zigzag(x - previousX));
+            writeVarint(out, zigzag(y - previousY));
+            previousX = x;
+            previousY = y;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(out.toByteArray());
+    }
+
+    private static double[] unpack(String packed, int count, int scale) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(packed);
+        } catch (IllegalArgumentException e) {
+            return new double[0];
+        }
+
+        double[] points = new double[count * 2];
+        int[] position = { 0 };
+        long x = 0;
+        long y = 0;
+        for (int i = 0; i < count && position[0] < bytes.length; i++) {
+            x += unzigzag(readVarint(bytes, position));
+            y += unzigzag(readVarint(bytes, position));
+            // Division, not multiplication by 1/scale, keeps values like 0.3 exact
+            points[i * 2] = x / (double) scale;
+            points[i * 2 + 1] = y / (double) scale;
+        }
+        return points;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(byte[] bytes, int[] position) {
+        long result = 0;
+        int shift = 0;
+        while (position[0] < bytes.length && shift < 64) {
+            byte b = bytes[position[0]++];
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+            shift += 7;
+        }
+        return result;
+    }
+
+    private static int headerEnd(String encoded) {
+        int newline = encoded.indexOf('\n');
+        return newline < 0 ? encoded.length() : newline;
+    }
+
+    // Simplified points (interleaved x,y) plus color/size/eraser as sent
+    public record Stroke(double[] points, ObjectNode attributes) {
+    }
+
+    private static void copyIfPresent(JsonNode from, ObjectNode to, String field) {
+        if (from.has(field)) {
+            to.set(field, from.get(field));
+        }
+    }
+
+    private String write(JsonNode node) {
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
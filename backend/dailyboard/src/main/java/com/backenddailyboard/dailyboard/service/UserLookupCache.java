@@ -0,0 +1,43 @@
+package com.backenddailyboard.dailyboard.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.backenddailyboard.dailyboard.model.AuthenticatedUser;
+import com.backenddailyboard.dailyboard.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Bounded, TTL-evicting googleId -> user cache used to build the request principal.
+ * Misses fall through to {@link UserRepository#findByGoogleId}; unknown users are not cached.
+ */
+@Service
+public class UserLookupCache {
+
+    private final UserRepository repo;
+    private final Cache<String, AuthenticatedUser> cache;
+
+    public UserLookupCache(UserRepository repo,
+            @Value("${auth.user-cache.max-size:10000}") long maxSize,
+            @Value("${auth.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.repo = repo;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public Optional<AuthenticatedUser> resolve(String googleId) {
+        return Optional.ofNullable(cache.get(googleId,
+                id -> repo.findByGoogleId(id).map(AuthenticatedUser::of).orElse(null)));
+    }
+
+    // Call after changing a user's row so the next request sees fresh values
+    public void evict(String googleId) {
+        cache.invalidate(googleId);
+    }
+}
@@ -0,0 +1,159 @@
+package com.backenddailyboard.dailyboard.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.LoggerFactory;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+import com.github.luben.zstd.util.Native;
+
+/**
+ * HTTP content codings supported for request and response bodies. zstd needs the
+ * zstd-jni native library for this platform; if it doesn't load, only gzip is offered.
+ */
+public enum ContentCoding {
+    ZSTD("zstd"),
+    GZIP("gzip");
+
+    private static final boolean ZSTD_PRESENT = Zstd.isAvailable();
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public OutputStream encoder(OutputStream out, int level) throws IOException {
+        if (this == ZSTD) {
+            return Zstd.encoder(out, level);
+        }
+        // syncFlush so streamed responses still reach the client on flush()
+        return new GZIPOutputStream(out, 8192, true) {
+            {
+                def.setLevel(level);
+            }
+        };
+    }
+
+    /**
+     * ETag for this coding's representation of a body tagged etag. A strong validator
+     * must differ per coding, the bytes do; weak ones are shared and returned as is.
+     */
+    public String etag(String etag) {
+        if (etag == null || etag.length() < 2 || !etag.startsWith("\"") || !etag.endsWith("\"")) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + "-" + token + "\"";
+    }
+
+    // The identity representation's ETag, i.e. etag without any coding suffix
+    public static String identityEtag(String etag) {
+        for (ContentCoding coding : values()) {
+            String suffix = "-" + coding.token + "\"";
+            if (etag.endsWith(suffix)) {
+                return etag.substring(0, etag.length() - suffix.length()) + "\"";
+            }
+        }
+        return etag;
+    }
+
+    public InputStream decoder(InputStream in) throws IOException {
+        return this == ZSTD ? Zstd.decoder(in) : new GZIPInputStream(in, 8192);
+    }
+
+    /**
+     * Coding to use for a response given the request's Accept-Encoding, or null for
+     * identity. The higher q-value wins, zstd on a tie; q=0 excludes a coding and "*"
+     * stands for gzip only, so clients that never named zstd don't get it.
+     */
+    public static ContentCoding negotiate(String acceptEncoding, boolean allowZstd) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+
+        // -1 = not mentioned
+        double gzip = -1;
+        double zstd = -1;
+        double any = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(tokens);
+            switch (coding) {
+                case "gzip" -> gzip = Math.max(gzip, quality);
+                case "zstd" -> zstd = Math.max(zstd, quality);
+                case "*" -> any = Math.max(any, quality);
+                default -> {
+                }
+            }
+        }
+        if (gzip < 0) {
+            gzip = any;
+        }
+
+        if (zstd > 0 && zstd >= gzip && allowZstd && ZSTD_PRESENT) {
+            return ZSTD;
+        }
+        return gzip > 0 ? GZIP : null;
+    }
+
+    // q parameter of an Accept-Encoding entry; 1 when absent or malformed
+    private static double quality(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String parameter = tokens[i].replace(" ", "").toLowerCase(Locale.ROOT);
+            if (parameter.startsWith("q=")) {
+                try {
+                    double quality = Double.parseDouble(parameter.substring(2));
+                    return quality >= 0 && quality <= 1 ? quality : 1;
+                } catch (NumberFormatException e) {
+                    return 1;
+                }
+            }
+        }
+        return 1;
+    }
+
+    // Coding named by a request's Content-Encoding, or null if unsupported
+    public static ContentCoding forToken(String contentEncoding) {
+        String token = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        if (token.equals("gzip") || token.equals("x-gzip")) {
+            return GZIP;
+        }
+        if (token.equals("zstd") && ZSTD_PRESENT) {
+            return ZSTD;
+        }
+        return null;
+    }
+
+    // Kept apart so the zstd classes are only loaded when the library is present
+    private static final class Zstd {
+        // The jar is always on the classpath; the native library inside it may not fit the platform
+        static boolean isAvailable() {
+            try {
+                Native.load();
+                return true;
+            } catch (LinkageError | RuntimeException e) {
+                LoggerFactory.getLogger(ContentCoding.class).warn("zstd unavailable, falling back to gzip", e);
+                return false;
+            }
+        }
+
+        static OutputStream encoder(OutputStream out, int level) throws IOException {
+            return new ZstdOutputStream(out, level);
+        }
+
+        static InputStream decoder(InputStream in) throws IOException {
+            return new ZstdInputStream(in);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.backenddailyboard.dailyboard.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Three-way merge of JSON item data: applies the changes an incoming write made
+ * relative to the version it was based on onto the current value.
+ *
+ * Objects merge key by key. Arrays whose elements are all objects with a unique
+ * "id" (todo items) merge element by element: additions from both sides are kept,
+ * a removal applies unless the other side edited that element. Everything else is
+ * a conflict when both sides changed it differently.
+ */
+public final class JsonMerge {
+
+    private JsonMerge() {
+    }
+
+    // Merged value, or empty when both sides changed the same field differently
+    public static Optional<JsonNode> threeWay(JsonNode base, JsonNode current, JsonNode incoming) {
+        try {
+            return Optional.ofNullable(merge(base, current, incoming));
+        } catch (ConflictException e) {
+            return Optional.empty();
+        }
+    }
+
+    // null means absent (missing key or removed element)
+    private static JsonNode merge(JsonNode base, JsonNode current, JsonNode incoming) {
+        if (Objects.equals(current, incoming) || Objects.equals(base, incoming)) {
+            return current;
+        }
+        if (Objects.equals(base, current)) {
+            return incoming;
+        }
+
+        if (base != null && base.isObject() && current != null && current.isObject()
+                && incoming != null && incoming.isObject()) {
+            return mergeObjects((ObjectNode) base, (ObjectNode) current, (ObjectNode) incoming);
+        }
+        if (base != null && isKeyed(base) && current != null && isKeyed(current)
+                && incoming != null && isKeyed(incoming)) {
+            return mergeKeyed((ArrayNode) base, (ArrayNode) current, (ArrayNode) incoming);
+        }
+        throw new ConflictException();
+    }
+
+    private static ObjectNode mergeObjects(ObjectNode base, ObjectNode current, ObjectNode incoming) {
+        Set<String> names = new LinkedHashSet<>();
+        current.fieldNames().forEachRemaining(names::add);
+        incoming.fieldNames().forEachRemaining(names::add);
+        base.fieldNames().forEachRemaining(names::add);
+
+        ObjectNode merged = JsonNodeFactory.instance.objectNode();
+        for (String name : names) {
+            JsonNode value = merge(base.get(name), current.get(name), incoming.get(name));
+            if (value != null) {
+                merged.set(name, value);
+            }
+        }
+        return merged;
+    }
+
+    // Keeps the current order; elements added by the incoming write go at the end
+    private static ArrayNode mergeKeyed(ArrayNode base, ArrayNode current, ArrayNode incoming) {
+        Map<JsonNode, JsonNode> baseById = byId(base);
+        Map<JsonNode, JsonNode> currentById = byId(current);
+        Map<JsonNode, JsonNode> incomingById = byId(incoming);
+
+        Set<JsonNode> ids = new LinkedHashSet<>(currentById.keySet());
+        ids.addAll(incomingById.keySet());
+
+        ArrayNode merged = JsonNodeFactory.instance.arrayNode();
+        for (JsonNode id : ids) {
+            JsonNode value = merge(baseById.get(id), currentById.get(id), incomingById.get(id));
+            if (value != null) {
+                merged.add(value);
+            }
+        }
+        return merged;
+    }
+
+    private static boolean isKeyed(JsonNode node) {
+        return node.isArray() && byId(node) != null;
+    }
+
+    // Elements by id, or null if any element lacks an id or ids repeat
+    private static Map<JsonNode, JsonNode> byId(JsonNode array) {
+        Map<JsonNode, JsonNode> elements = new LinkedHashMap<>();
+        for (Iterator<JsonNode> it = array.elements(); it.hasNext();) {
+            JsonNode element = it.next();
+            JsonNode id = element.isObject() ? element.get("id") : null;
+            if (id == null || !id.isValueNode() || elements.put(id, element) != null) {
+                return null;
+            }
+        }
+        return elements;
+    }
+
+    private static class ConflictException extends RuntimeException {
+        ConflictException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.backenddailyboard.dailyboard.util;
+
+import java.util.Date;
+
+/**
+ * The claims of a token whose signature and expiry have already been checked.
+ * Returned by {@link JwtUtil#verify(String)}.
+ */
+public class JwtClaims {
+
+    private final String userId;
+    private final String email;
+    private final Date expiration;
+
+    public JwtClaims(String userId, String email, Date expiration) {
+        this.userId = userId;
+        this.email = email;
+        this.expiration = expiration;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Date getExpiration() {
+        return expiration;
+    }
+
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+}
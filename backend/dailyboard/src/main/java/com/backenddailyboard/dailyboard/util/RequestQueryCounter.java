@@ -0,0 +1,56 @@
+package com.backenddailyboard.dailyboard.util;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Counts SQL statements prepared and entities loaded by Hibernate on the current thread
+ * between begin() and end(). Installed on the session factory by PersistenceConfig and
+ * read per request by RequestQueryMetricsFilter. Does nothing outside a begin/end pair.
+ */
+public class RequestQueryCounter implements StatementInspector, Interceptor {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    public static void begin() {
+        CURRENT.set(new Counts());
+    }
+
+    public static Counts end() {
+        Counts counts = CURRENT.get();
+        CURRENT.remove();
+        return counts;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.queries++;
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entitiesLoaded++;
+        }
+        return false;
+    }
+
+    public static class Counts {
+        private int queries;
+        private int entitiesLoaded;
+
+        public int getQueries() {
+            return queries;
+        }
+
+        public int getEntitiesLoaded() {
+            return entitiesLoaded;
+        }
+    }
+}
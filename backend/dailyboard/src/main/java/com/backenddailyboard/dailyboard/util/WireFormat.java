@@ -0,0 +1,59 @@
+package com.backenddailyboard.dailyboard.util;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/**
+ * Body encodings the item endpoints speak. JSON stays the default; CBOR and Smile
+ * are binary Jackson formats with the same data model, picked by the Accept header.
+ */
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR),
+    SMILE(new MediaType("application", "x-jackson-smile"));
+
+    private final MediaType mediaType;
+
+    WireFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    // Highest-quality acceptable format; JSON for a missing, wildcard or unparseable Accept
+    public static WireFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+
+        List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        // Stable sort, so equal-quality types keep the client's order
+        acceptable.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+        for (MediaType candidate : acceptable) {
+            // q=0 means not acceptable; sorted last, so nothing acceptable is left
+            if (candidate.getQualityValue() == 0) {
+                break;
+            }
+            if (candidate.isWildcardType()) {
+                return JSON;
+            }
+            for (WireFormat format : values()) {
+                if (candidate.isCompatibleWith(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
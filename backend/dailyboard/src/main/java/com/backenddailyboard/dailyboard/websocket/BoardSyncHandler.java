@@ -0,0 +1,280 @@
+package com.backenddailyboard.dailyboard.websocket;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import com.backenddailyboard.dailyboard.event.BoardChangeEvent;
+import com.backenddailyboard.dailyboard.model.AuthenticatedUser;
+import com.backenddailyboard.dailyboard.service.GeometryWriteBuffer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Live board sync. Every open tab/device of a user holds one socket; item changes
+ * are queued per socket and sent once per tick as a single JSON array. Clients may
+ * also push geometry updates here instead of one HTTP PUT per frame.
+ *
+ * Slow consumers are bounded twice: a socket whose queue overflows gets a single
+ * {"type":"resync"} message and should reload with ?since=, and a socket whose send
+ * buffer stays full is closed by ConcurrentWebSocketSessionDecorator.
+ */
+@Component
+public class BoardSyncHandler extends TextWebSocketHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardSyncHandler.class);
+
+    // PATCH field of POST /api/items/{id}/strokes
+    private static final String APPENDED_STROKES = "appendedStrokes";
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final GeometryWriteBuffer geometryWriteBuffer;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<String, BoardSession> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, Set<BoardSession>> sessionsByUser = new ConcurrentHashMap<>();
+
+    @Value("${board-sync.send-time-limit-ms:5000}")
+    private int sendTimeLimitMs;
+
+    @Value("${board-sync.send-buffer-bytes:524288}")
+    private int sendBufferBytes;
+
+    @Value("${board-sync.max-queued-events:1000}")
+    private int maxQueuedEvents;
+
+    public BoardSyncHandler(ObjectMapper objectMapper, GeometryWriteBuffer geometryWriteBuffer,
+            ApplicationEventPublisher eventPublisher) {
+        this.objectMapper = objectMapper;
+        this.geometryWriteBuffer = geometryWriteBuffer;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        AuthenticatedUser user = (AuthenticatedUser) session.getAttributes().get(JwtHandshakeInterceptor.USER_ATTRIBUTE);
+        WebSocketSession decorated = new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMs, sendBufferBytes);
+        BoardSession boardSession = new BoardSession(decorated, user);
+
+        sessions.put(session.getId(), boardSession);
+        sessionsByUser.computeIfAbsent(user.getId(), id -> ConcurrentHashMap.newKeySet()).add(boardSession);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        BoardSession boardSession = sessions.remove(session.getId());
+        if (boardSession == null) {
+            return;
+        }
+
+        sessionsByUser.computeIfPresent(boardSession.user.getId(), (id, userSessions) -> {
+            userSessions.remove(boardSession);
+            return userSessions.isEmpty() ? null : userSessions;
+        });
+    }
+
+    // Inbound: {"type":"geometry","id":1,"x":10,"y":20} - any subset of x/y/width/height/zIndex
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        BoardSession boardSession = sessions.get(session.getId());
+        if (boardSession == null) {
+            return;
+        }
+
+        Map<String, Object> body;
+        try {
+            body = objectMapper.readValue(message.getPayload(), MAP_TYPE);
+        } catch (JsonProcessingException e) {
+            // Ignore malformed frames rather than dropping the socket
+            return;
+        }
+        if (!"geometry".equals(body.get("type")) || !(body.get("id") instanceof Number id)) {
+            return;
+        }
+
+        Long itemId = id.longValue();
+        Long userId = boardSession.user.getId();
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (String field : List.of("x", "y", "width", "height", "zIndex")) {
+            if (body.get(field) instanceof Number value) {
+                fields.put(field, value);
+            }
+        }
+        if (fields.isEmpty()) {
+            return;
+        }
+
+        geometryWriteBuffer.submit(userId, itemId,
+                asDouble(fields.get("x")),
+                asDouble(fields.get("y")),
+                asDouble(fields.get("width")),
+                asDouble(fields.get("height")),
+                fields.get("zIndex") == null ? null : ((Number) fields.get("zIndex")).intValue());
+
+        eventPublisher.publishEvent(new BoardChangeEvent(userId, itemId, BoardChangeEvent.Kind.PATCH,
+                fields, session.getId()));
+    }
+
+    // Runs after commit for transactional writers, immediately otherwise
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChange(BoardChangeEvent event) {
+        Set<BoardSession> userSessions = sessionsByUser.get(event.getUserId());
+        if (userSessions == null) {
+            return;
+        }
+
+        if (event.getKind() == BoardChangeEvent.Kind.RESYNC) {
+            userSessions.forEach(BoardSession::resync);
+            return;
+        }
+
+        // Build the wire form once and share it across the user's sockets
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("type", event.getKind().name().toLowerCase());
+        message.put("id", event.getItemId());
+        if (event.getPayload() != null) {
+            message.put("item", event.getKind() == BoardChangeEvent.Kind.PATCH
+                    ? nonNullFields(event.getPayload())
+                    : event.getPayload());
+        }
+
+        for (BoardSession boardSession : userSessions) {
+            if (!boardSession.session.getId().equals(event.getOriginSessionId())) {
+                boardSession.enqueue(event.getKind(), event.getItemId(), message, maxQueuedEvents);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${board-sync.tick-ms:50}")
+    public void tick() {
+        for (BoardSession boardSession : sessions.values()) {
+            List<Map<String, Object>> messages = boardSession.drain();
+            if (messages.isEmpty()) {
+                continue;
+            }
+
+            try {
+                boardSession.session.sendMessage(new TextMessage(objectMapper.writeValueAsString(messages)));
+            } catch (IOException | RuntimeException e) {
+                // The decorator closes sockets that exceed the send limits; the client reconnects and resyncs
+                log.debug("Dropping board sync socket {}", boardSession.session.getId(), e);
+            }
+        }
+    }
+
+    private Map<String, Object> nonNullFields(Object payload) {
+        // convertValue may hand back the same map instance, so copy before mutating
+        Map<String, Object> fields = new LinkedHashMap<>(objectMapper.convertValue(payload, MAP_TYPE));
+        fields.values().removeIf(value -> value == null);
+        return fields;
+    }
+
+    private static Double asDouble(Object value) {
+        return value == null ? null : ((Number) value).doubleValue();
+    }
+
+    private static class BoardSession {
+        private final WebSocketSession session;
+        private final AuthenticatedUser user;
+
+        // Guarded by this
+        private final List<Map<String, Object>> pending = new ArrayList<>();
+        private final Map<Long, Integer> patchIndex = new HashMap<>();
+        private boolean resync;
+
+        BoardSession(WebSocketSession session, AuthenticatedUser user) {
+            this.session = session;
+            this.user = user;
+        }
+
+        synchronized void enqueue(BoardChangeEvent.Kind kind, Long itemId, Map<String, Object> message, int max) {
+            if (resync) {
+                return;
+            }
+
+            // Consecutive patches to one item collapse into one message per tick
+            if (kind == BoardChangeEvent.Kind.PATCH) {
+                Integer index = patchIndex.get(itemId);
+                if (index != null) {
+                    pending.set(index, mergePatch(pending.get(index), message));
+                    return;
+                }
+            } else {
+                patchIndex.remove(itemId);
+            }
+
+            if (pending.size() >= max) {
+                resync();
+                return;
+            }
+
+            pending.add(message);
+            if (kind == BoardChangeEvent.Kind.PATCH) {
+                patchIndex.put(itemId, pending.size() - 1);
+            }
+        }
+
+        // Queued changes are moot once the client reloads
+        synchronized void resync() {
+            pending.clear();
+            patchIndex.clear();
+            resync = true;
+        }
+
+        synchronized List<Map<String, Object>> drain() {
+            if (resync) {
+                resync = false;
+                return List.of(Map.of("type", "resync"));
+            }
+
+            List<Map<String, Object>> messages = new ArrayList<>(pending);
+            pending.clear();
+            patchIndex.clear();
+            return messages;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Map<String, Object> mergePatch(Map<String, Object> older, Map<String, Object> newer) {
+            Map<String, Object> olderFields = (Map<String, Object>) older.get("item");
+            Map<String, Object> newerFields = (Map<String, Object>) newer.get("item");
+            Map<String, Object> fields = new LinkedHashMap<>(olderFields);
+            fields.putAll(newerFields);
+
+            // Appended strokes add up; a later full data replaces them, it already contains them
+            if (newerFields.containsKey("data")) {
+                fields.remove(APPENDED_STROKES);
+            } else if (olderFields.get(APPENDED_STROKES) instanceof List<?> olderStrokes
+                    && newerFields.get(APPENDED_STROKES) instanceof List<?> newerStrokes) {
+                List<Object> strokes = new ArrayList<>(olderStrokes);
+                strokes.addAll(newerStrokes);
+                fields.put(APPENDED_STROKES, strokes);
+            }
+
+            Map<String, Object> merged = new LinkedHashMap<>(newer);
+            merged.put("item", fields);
+            return merged;
+        }
+    }
+}
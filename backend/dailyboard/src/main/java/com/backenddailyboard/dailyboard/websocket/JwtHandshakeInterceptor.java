@@ -0,0 +1,69 @@
+package com.backenddailyboard.dailyboard.websocket;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.backenddailyboard.dailyboard.model.AuthenticatedUser;
+import com.backenddailyboard.dailyboard.service.UserLookupCache;
+import com.backenddailyboard.dailyboard.util.JwtClaims;
+import com.backenddailyboard.dailyboard.util.JwtUtil;
+
+/**
+ * Authenticates the WebSocket upgrade with the same JWT the REST API accepts.
+ * Browsers can't set headers on a WebSocket, so the token may also come in the
+ * access_token query parameter.
+ */
+@Component
+public class JwtHandshakeInterceptor implements HandshakeInterceptor {
+
+    public static final String USER_ATTRIBUTE = "user";
+
+    private final JwtUtil jwtUtil;
+    private final UserLookupCache userLookupCache;
+
+    public JwtHandshakeInterceptor(JwtUtil jwtUtil, UserLookupCache userLookupCache) {
+        this.jwtUtil = jwtUtil;
+        this.userLookupCache = userLookupCache;
+    }
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+            WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        Optional<AuthenticatedUser> user = extractToken(request)
+                .flatMap(jwtUtil::verify)
+                .map(JwtClaims::getUserId)
+                .flatMap(userLookupCache::resolve);
+
+        if (user.isEmpty()) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+
+        attributes.put(USER_ATTRIBUTE, user.get());
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+            WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    private static Optional<String> extractToken(ServerHttpRequest request) {
+        String authHeader = request.getHeaders().getFirst("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return Optional.of(authHeader.substring(7));
+        }
+        return Optional.ofNullable(UriComponentsBuilder.fromUri(request.getURI())
+                .build()
+                .getQueryParams()
+                .getFirst("access_token"));
+    }
+}
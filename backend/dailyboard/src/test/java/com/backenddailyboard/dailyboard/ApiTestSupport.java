@@ -0,0 +1,73 @@
+package com.backenddailyboard.dailyboard;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.backenddailyboard.dailyboard.model.User;
+import com.backenddailyboard.dailyboard.repository.UserRepository;
+import com.backenddailyboard.dailyboard.util.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Base for tests that go through the HTTP layer of the whole application, filters and
+ * JWT authentication included, on the in-memory database of the test profile. The
+ * context is shared between test classes, so every test works with its own user.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class ApiTestSupport {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected JwtUtil jwtUtil;
+
+    // A new user and the Authorization header that signs in as them
+    protected TestUser newUser() {
+        String googleId = "test-" + UUID.randomUUID();
+        User user = userRepository.save(new User(googleId, "Test", googleId + "@example.com"));
+        return new TestUser(user.getId(), "Bearer " + jwtUtil.generateToken(googleId, user.getEmail()));
+    }
+
+    // POST /api/items; the created item as returned
+    protected JsonNode createItem(TestUser user, String type, String data) throws Exception {
+        String body = objectMapper.createObjectNode()
+                .put("type", type)
+                .put("x", 10)
+                .put("y", 20)
+                .put("width", 200)
+                .put("height", 140)
+                .put("zIndex", 0)
+                .put("data", data)
+                .toString();
+        byte[] response = mockMvc.perform(post("/api/items")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        return objectMapper.readTree(response);
+    }
+
+    protected record TestUser(Long id, String authorization) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.backenddailyboard.dailyboard;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.http.HttpHeaders;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The application's own meters, and the Prometheus scrape endpoint that publishes them
+ * without authentication. Tests don't export metrics unless asked to, hence
+ * AutoConfigureObservability.
+ */
+@AutoConfigureObservability
+class MetricsTest extends ApiTestSupport {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void dataSizeIsRecordedPerKnownType() throws Exception {
+        TestUser user = newUser();
+        double before = dataSizeCount("sticky_note");
+        double otherBefore = dataSizeCount("other");
+
+        createItem(user, "sticky_note", "{\"text\":\"measured\"}");
+        createItem(user, "made_up_type", "{}");
+
+        assertTrue(dataSizeCount("sticky_note") > before);
+        assertTrue(dataSizeCount("other") > otherBefore);
+    }
+
+    @Test
+    void queriesAreCountedPerUriTemplate() throws Exception {
+        TestUser user = newUser();
+        long id = createItem(user, "sticky_note", "{\"text\":\"counted\"}").get("id").asLong();
+
+        mockMvc.perform(get("/api/items/" + id + "/data").header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk());
+
+        DistributionSummary queries = meterRegistry.find("hibernate.request.queries")
+                .tag("method", "GET")
+                .tag("uri", "/api/items/{id}/data")
+                .summary();
+        assertNotNull(queries);
+        assertTrue(queries.count() > 0);
+    }
+
+    @Test
+    void prometheusEndpointIsOpenAndListsTheMeters() throws Exception {
+        createItem(newUser(), "sticky_note", "{\"text\":\"scraped\"}");
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertTrue(scrape.contains("items_data_size_characters_count{"));
+        assertTrue(scrape.contains("auth_jwt_verify_seconds_count{"));
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"));
+        assertTrue(scrape.contains("application=\"dailyboard\""));
+    }
+
+    private double dataSizeCount(String type) {
+        DistributionSummary summary = meterRegistry.find("items.data.size").tag("type", type).summary();
+        return summary == null ? 0 : summary.count();
+    }
+}
@@ -0,0 +1,157 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.backenddailyboard.dailyboard.ApiTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * POST /api/blobs and GET /api/blobs/{hash}: content addressing, the upload cap,
+ * If-None-Match and single byte ranges.
+ */
+@TestPropertySource(properties = "blobs.max-bytes=1024")
+class BlobControllerTest extends ApiTestSupport {
+
+    private TestUser user;
+    private byte[] content;
+    private String hash;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        user = newUser();
+        // Unique per test, so no test finds another one's blob
+        content = ("png-ish " + UUID.randomUUID() + " " + "0123456789".repeat(10)).getBytes(StandardCharsets.UTF_8);
+        hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    @Test
+    void sameContentIsStoredOnceUnderItsHash() throws Exception {
+        JsonNode first = objectMapper.readTree(upload(user, content)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+        JsonNode second = objectMapper.readTree(upload(newUser(), content)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+
+        assertEquals(hash, first.get("hash").asText());
+        assertEquals(hash, second.get("hash").asText());
+        assertEquals(content.length, first.get("size").asLong());
+        assertEquals("image/png", first.get("contentType").asText());
+    }
+
+    @Test
+    void uploadOverTheCapIsTooLarge() throws Exception {
+        upload(user, new byte[1025]).andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    void downloadCarriesTheHashAsStrongETag() throws Exception {
+        upload(user, content).andExpect(status().isOk());
+
+        MockHttpServletResponse response = download().andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + hash + "\""))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andReturn().getResponse();
+
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() throws Exception {
+        upload(user, content).andExpect(status().isOk());
+
+        MockHttpServletResponse response = download(HttpHeaders.IF_NONE_MATCH, "\"other\", \"" + hash + "\"")
+                .andExpect(status().isNotModified())
+                .andReturn().getResponse();
+
+        assertEquals(0, response.getContentAsByteArray().length);
+        download(HttpHeaders.IF_NONE_MATCH, "\"other\"").andExpect(status().isOk());
+    }
+
+    @Test
+    void singleRangeGetsPartialContent() throws Exception {
+        upload(user, content).andExpect(status().isOk());
+
+        MockHttpServletResponse response = download(HttpHeaders.RANGE, "bytes=10-19")
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-19/" + content.length))
+                .andReturn().getResponse();
+
+        assertArrayEquals(Arrays.copyOfRange(content, 10, 20), response.getContentAsByteArray());
+    }
+
+    @Test
+    void suffixRangeGetsTheTail() throws Exception {
+        upload(user, content).andExpect(status().isOk());
+
+        MockHttpServletResponse response = download(HttpHeaders.RANGE, "bytes=-5")
+                .andExpect(status().isPartialContent())
+                .andReturn().getResponse();
+
+        assertArrayEquals(Arrays.copyOfRange(content, content.length - 5, content.length),
+                response.getContentAsByteArray());
+    }
+
+    @Test
+    void staleIfRangeGetsTheWholeBlob() throws Exception {
+        upload(user, content).andExpect(status().isOk());
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/blobs/" + hash)
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .header(HttpHeaders.RANGE, "bytes=10-19")
+                        .header(HttpHeaders.IF_RANGE, "\"other\""))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void rangePastTheEndIsNotSatisfiable() throws Exception {
+        upload(user, content).andExpect(status().isOk());
+
+        download(HttpHeaders.RANGE, "bytes=" + content.length + "-")
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + content.length));
+    }
+
+    @Test
+    void unknownHashIsNotFound() throws Exception {
+        download().andExpect(status().isNotFound());
+    }
+
+    private ResultActions upload(TestUser uploader, byte[] bytes) throws Exception {
+        return mockMvc.perform(multipart("/api/blobs")
+                .file(new MockMultipartFile("file", "image.png", "image/png", bytes))
+                .header(HttpHeaders.AUTHORIZATION, uploader.authorization()));
+    }
+
+    private ResultActions download() throws Exception {
+        return mockMvc.perform(get("/api/blobs/" + hash).header(HttpHeaders.AUTHORIZATION, user.authorization()));
+    }
+
+    private ResultActions download(String headerName, String headerValue) throws Exception {
+        return mockMvc.perform(get("/api/blobs/" + hash)
+                .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                .header(headerName, headerValue));
+    }
+}
@@ -0,0 +1,181 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.backenddailyboard.dailyboard.ApiTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * GET /api/boards/export and POST /api/boards/import: a round trip into another
+ * account, and the 4xx answers for archives the import can't or won't read.
+ */
+@TestPropertySource(properties = "boards.import.max-entries=6")
+class BoardArchiveTest extends ApiTestSupport {
+
+    private static final MediaType ZIP = MediaType.parseMediaType("application/zip");
+
+    @Test
+    void exportImportsIntoAnotherAccount() throws Exception {
+        TestUser source = newUser();
+        long boardId = json(mockMvc.perform(post("/api/boards")
+                        .header(HttpHeaders.AUTHORIZATION, source.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Plans\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray()).get("id").asLong();
+        String hash = json(mockMvc.perform(multipart("/api/blobs")
+                        .file(new MockMultipartFile("file", "a.png", "image/png", new byte[] { 1, 2, 3, 4 }))
+                        .header(HttpHeaders.AUTHORIZATION, source.authorization()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray()).get("hash").asText();
+        mockMvc.perform(post("/api/boards/" + boardId + "/items")
+                        .header(HttpHeaders.AUTHORIZATION, source.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.createObjectNode()
+                                .put("type", "image")
+                                .put("x", 1).put("y", 2).put("width", 30).put("height", 40).put("zIndex", 1)
+                                .put("data", "{\"blobHash\":\"" + hash + "\"}")
+                                .toString()))
+                .andExpect(status().isOk());
+        createItem(source, "sticky_note", "{\"text\":\"loose\"}");
+        long trashed = createItem(source, "sticky_note", "{\"text\":\"trashed\"}").get("id").asLong();
+        mockMvc.perform(delete("/api/items/" + trashed)
+                        .header(HttpHeaders.AUTHORIZATION, source.authorization()))
+                .andExpect(status().isOk());
+
+        byte[] archive = mockMvc.perform(get("/api/boards/export")
+                        .header(HttpHeaders.AUTHORIZATION, source.authorization()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        TestUser target = newUser();
+        JsonNode result = json(importArchive(target, archive)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+        assertEquals(1, result.get("boards").asInt());
+        assertEquals(2, result.get("items").asLong());
+        assertEquals(1, result.get("blobs").asInt());
+
+        JsonNode boards = json(mockMvc.perform(get("/api/boards")
+                        .header(HttpHeaders.AUTHORIZATION, target.authorization()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+        assertEquals(1, boards.size());
+        assertEquals("Plans", boards.get(0).get("name").asText());
+
+        // New ids, same content; the deleted item isn't part of a backup
+        JsonNode boardItems = json(mockMvc.perform(get("/api/boards/" + boards.get(0).get("id").asLong() + "/items")
+                        .header(HttpHeaders.AUTHORIZATION, target.authorization()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+        assertEquals(1, boardItems.size());
+        assertEquals("image", boardItems.get(0).get("type").asText());
+        assertEquals(30.0, boardItems.get(0).get("width").asDouble());
+        assertEquals(hash, objectMapper.readTree(boardItems.get(0).get("data").asText()).get("blobHash").asText());
+
+        List<String> texts = new ArrayList<>();
+        for (JsonNode item : json(mockMvc.perform(get("/api/items")
+                        .header(HttpHeaders.AUTHORIZATION, target.authorization()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray())) {
+            if (item.get("type").asText().equals("sticky_note")) {
+                texts.add(objectMapper.readTree(item.get("data").asText()).get("text").asText());
+            }
+        }
+        assertEquals(List.of("loose"), texts);
+
+        mockMvc.perform(get("/api/blobs/" + hash).header(HttpHeaders.AUTHORIZATION, target.authorization()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void bodyThatIsNotAnArchiveIsABadRequest() throws Exception {
+        TestUser user = newUser();
+
+        importArchive(user, "not a zip at all".getBytes(StandardCharsets.UTF_8))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void truncatedArchiveIsABadRequestAndImportsNothing() throws Exception {
+        TestUser user = newUser();
+        byte[] archive = zip(List.of("boards.ndjson"), "{\"id\":1,\"name\":\"Cut\"}\n".repeat(200));
+
+        importArchive(user, Arrays.copyOf(archive, archive.length / 2))
+                .andExpect(status().isBadRequest());
+        assertEquals(0, boardCount(user));
+    }
+
+    @Test
+    void malformedRecordIsABadRequestAndImportsNothing() throws Exception {
+        TestUser user = newUser();
+        byte[] archive = zip(List.of("boards.ndjson"), "{\"id\":1,\"name\":\"Kept?\"}\n{\"id\":2,\"name\":");
+
+        importArchive(user, archive).andExpect(status().isBadRequest());
+        assertEquals(0, boardCount(user));
+    }
+
+    @Test
+    void archiveOverTheEntryLimitIsTooLarge() throws Exception {
+        TestUser user = newUser();
+        List<String> names = new ArrayList<>();
+        names.add("boards.ndjson");
+        for (int i = 0; i < 6; i++) {
+            names.add("extra-" + i + ".txt");
+        }
+        byte[] archive = zip(names, "{\"id\":1,\"name\":\"Over\"}\n");
+
+        importArchive(user, archive).andExpect(status().isPayloadTooLarge());
+        assertEquals(0, boardCount(user));
+    }
+
+    private ResultActions importArchive(TestUser user, byte[] archive) throws Exception {
+        return mockMvc.perform(post("/api/boards/import")
+                .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                .contentType(ZIP)
+                .content(archive));
+    }
+
+    private int boardCount(TestUser user) throws Exception {
+        return json(mockMvc.perform(get("/api/boards").header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray()).size();
+    }
+
+    private JsonNode json(byte[] body) throws Exception {
+        return objectMapper.readTree(body);
+    }
+
+    // Every entry gets the same content
+    private static byte[] zip(List<String> names, String content) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (String name : names) {
+                zip.putNextEntry(new ZipEntry(name));
+                zip.write(content.getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
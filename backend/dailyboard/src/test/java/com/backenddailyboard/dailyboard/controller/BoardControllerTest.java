@@ -0,0 +1,197 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import com.backenddailyboard.dailyboard.ApiTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Boards: a user's own list, items created on a board and listed per board, and
+ * ownership checks on every board-scoped endpoint.
+ */
+class BoardControllerTest extends ApiTestSupport {
+
+    @Test
+    void boardsAreListedPerUserInCreationOrder() throws Exception {
+        TestUser user = newUser();
+        long first = createBoard(user, "First");
+        long second = createBoard(user, "Second");
+        createBoard(newUser(), "Someone else's");
+
+        JsonNode boards = json(mockMvc.perform(get("/api/boards")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+
+        assertEquals(2, boards.size());
+        assertEquals(first, boards.get(0).get("id").asLong());
+        assertEquals("First", boards.get(0).get("name").asText());
+        assertEquals(second, boards.get(1).get("id").asLong());
+    }
+
+    @Test
+    void blankNameIsABadRequest() throws Exception {
+        mockMvc.perform(post("/api/boards")
+                        .header(HttpHeaders.AUTHORIZATION, newUser().authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"  \"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void itemsAreListedPerBoardLiveOnly() throws Exception {
+        TestUser user = newUser();
+        long board = createBoard(user, "Work");
+        long otherBoard = createBoard(user, "Home");
+        long onBoard = createBoardItem(user, board, "{\"text\":\"work\"}");
+        long deleted = createBoardItem(user, board, "{\"text\":\"done\"}");
+        createBoardItem(user, otherBoard, "{\"text\":\"home\"}");
+        createItem(user, "sticky_note", "{\"text\":\"loose\"}");
+        mockMvc.perform(delete("/api/items/" + deleted).header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk());
+
+        JsonNode items = boardItems(user, board);
+
+        assertEquals(1, items.size());
+        assertEquals(onBoard, items.get(0).get("id").asLong());
+        assertEquals(board, items.get(0).get("boardId").asLong());
+        // The account-wide listing still has every live item
+        assertEquals(3, json(mockMvc.perform(get("/api/items")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray()).size());
+    }
+
+    @Test
+    void boardIdOnPostItemsPlacesTheItem() throws Exception {
+        TestUser user = newUser();
+        long board = createBoard(user, "Work");
+
+        long id = json(mockMvc.perform(post("/api/items")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(itemBody("{\"text\":\"placed\"}").put("boardId", board).toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray()).get("id").asLong();
+
+        assertEquals(List.of(id), ids(boardItems(user, board)));
+    }
+
+    @Test
+    void anotherUsersBoardIsForbidden() throws Exception {
+        TestUser owner = newUser();
+        TestUser intruder = newUser();
+        long board = createBoard(owner, "Private");
+        createBoardItem(owner, board, "{\"text\":\"secret\"}");
+
+        mockMvc.perform(get("/api/boards/" + board + "/items")
+                        .header(HttpHeaders.AUTHORIZATION, intruder.authorization()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/boards/" + board + "/items")
+                        .header(HttpHeaders.AUTHORIZATION, intruder.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(itemBody("{\"text\":\"planted\"}").toString()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/items")
+                        .header(HttpHeaders.AUTHORIZATION, intruder.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(itemBody("{\"text\":\"planted\"}").put("boardId", board).toString()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(put("/api/boards/" + board)
+                        .header(HttpHeaders.AUTHORIZATION, intruder.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Mine now\"}"))
+                .andExpect(status().isForbidden());
+
+        assertEquals(1, boardItems(owner, board).size());
+        assertEquals(0, json(mockMvc.perform(get("/api/items")
+                        .header(HttpHeaders.AUTHORIZATION, intruder.authorization()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray()).size());
+    }
+
+    @Test
+    void unknownBoardIsNotFound() throws Exception {
+        TestUser user = newUser();
+
+        mockMvc.perform(get("/api/boards/" + Long.MAX_VALUE + "/items")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/boards/" + Long.MAX_VALUE + "/items")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(itemBody("{\"text\":\"lost\"}").toString()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void renameKeepsTheBoard() throws Exception {
+        TestUser user = newUser();
+        long board = createBoard(user, "Draft");
+
+        JsonNode renamed = json(mockMvc.perform(put("/api/boards/" + board)
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Final\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+
+        assertEquals(board, renamed.get("id").asLong());
+        assertEquals("Final", renamed.get("name").asText());
+    }
+
+    private long createBoard(TestUser user, String name) throws Exception {
+        return json(mockMvc.perform(post("/api/boards")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.createObjectNode().put("name", name).toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray()).get("id").asLong();
+    }
+
+    private long createBoardItem(TestUser user, long boardId, String data) throws Exception {
+        return json(mockMvc.perform(post("/api/boards/" + boardId + "/items")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(itemBody(data).toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray()).get("id").asLong();
+    }
+
+    private JsonNode boardItems(TestUser user, long boardId) throws Exception {
+        return json(mockMvc.perform(get("/api/boards/" + boardId + "/items")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+
+    private ObjectNode itemBody(String data) {
+        return objectMapper.createObjectNode()
+                .put("type", "sticky_note")
+                .put("x", 10).put("y", 20).put("width", 200).put("height", 140).put("zIndex", 0)
+                .put("data", data);
+    }
+
+    private List<Long> ids(JsonNode items) {
+        List<Long> ids = new ArrayList<>();
+        items.forEach(item -> ids.add(item.get("id").asLong()));
+        return ids;
+    }
+
+    private JsonNode json(byte[] body) throws Exception {
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,113 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+
+import com.backenddailyboard.dailyboard.ApiTestSupport;
+
+/**
+ * GET /api/boards/{boardId}/thumbnail and /api/boards/thumbnail: rendered in the
+ * background on first request and on changes, then served with a strong ETag.
+ */
+@TestPropertySource(properties = "thumbnails.debounce-ms=0")
+class BoardThumbnailTest extends ApiTestSupport {
+
+    private static final long RENDER_TIMEOUT_MS = 10_000;
+
+    @Test
+    void boardPreviewIsRenderedAndRevalidated() throws Exception {
+        TestUser user = newUser();
+        long boardId = createBoard(user, "Preview");
+        createBoardItem(user, boardId);
+
+        MockHttpServletResponse response = awaitThumbnail(user, "/api/boards/" + boardId + "/thumbnail");
+        assertEquals(MediaType.IMAGE_PNG_VALUE, response.getContentType());
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(response.getContentAsByteArray()));
+        assertEquals(320, image.getWidth());
+        assertEquals(200, image.getHeight());
+
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        mockMvc.perform(get("/api/boards/" + boardId + "/thumbnail")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void canvasPreviewIsRendered() throws Exception {
+        TestUser user = newUser();
+        createItem(user, "sticky_note", "{\"text\":\"loose\"}");
+
+        assertEquals(MediaType.IMAGE_PNG_VALUE, awaitThumbnail(user, "/api/boards/thumbnail").getContentType());
+    }
+
+    @Test
+    void anotherUsersBoardIsForbidden() throws Exception {
+        long boardId = createBoard(newUser(), "Private");
+
+        mockMvc.perform(get("/api/boards/" + boardId + "/thumbnail")
+                        .header(HttpHeaders.AUTHORIZATION, newUser().authorization()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void unknownBoardIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/boards/" + Long.MAX_VALUE + "/thumbnail")
+                        .header(HttpHeaders.AUTHORIZATION, newUser().authorization()))
+                .andExpect(status().isNotFound());
+    }
+
+    // 202 until the background render has written the file
+    private MockHttpServletResponse awaitThumbnail(TestUser user, String path) throws Exception {
+        long deadline = System.currentTimeMillis() + RENDER_TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            MockHttpServletResponse response = mockMvc.perform(get(path)
+                            .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                    .andReturn().getResponse();
+            if (response.getStatus() == 200) {
+                return response;
+            }
+            assertEquals(202, response.getStatus());
+            Thread.sleep(50);
+        }
+        return fail("No thumbnail at " + path + " after " + RENDER_TIMEOUT_MS + " ms");
+    }
+
+    private long createBoard(TestUser user, String name) throws Exception {
+        byte[] body = mockMvc.perform(post("/api/boards")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.createObjectNode().put("name", name).toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private void createBoardItem(TestUser user, long boardId) throws Exception {
+        mockMvc.perform(post("/api/boards/" + boardId + "/items")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.createObjectNode()
+                                .put("type", "sticky_note")
+                                .put("x", 10).put("y", 20).put("width", 200).put("height", 140).put("zIndex", 0)
+                                .put("data", "{\"text\":\"on the board\"}")
+                                .toString()))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,161 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import com.backenddailyboard.dailyboard.ApiTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * POST /api/items/batch: every operation gets its own status, ownership is checked
+ * per operation, and stale versions conflict per operation as on PUT /api/items/{id}.
+ */
+class CanvasItemBatchTest extends ApiTestSupport {
+
+    @Test
+    void mixedOperationsApplyInOneRequest() throws Exception {
+        TestUser user = newUser();
+        long updated = createItem(user, "sticky_note", "{\"text\":\"before\"}").get("id").asLong();
+        long deleted = createItem(user, "sticky_note", "{\"text\":\"deleted\"}").get("id").asLong();
+
+        ArrayNode operations = objectMapper.createArrayNode();
+        operations.add(operation("create", null, "{\"text\":\"created\"}"));
+        operations.add(operation("update", updated, "{\"text\":\"after\"}"));
+        operations.add(operation("delete", deleted, null));
+        JsonNode results = batch(user, operations);
+
+        assertEquals(3, results.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i, results.get(i).get("index").asInt());
+            assertEquals(200, results.get(i).get("status").asInt());
+        }
+        long created = results.get(0).get("id").asLong();
+        assertEquals("{\"text\":\"created\"}", results.get(0).get("item").get("data").asText());
+        assertEquals("{\"text\":\"after\"}", results.get(1).get("item").get("data").asText());
+
+        Set<Long> live = new HashSet<>();
+        for (JsonNode item : list(user)) {
+            live.add(item.get("id").asLong());
+        }
+        assertEquals(Set.of(created, updated), live);
+    }
+
+    @Test
+    void foreignUnknownAndInvalidOperationsFailAlone() throws Exception {
+        TestUser user = newUser();
+        TestUser other = newUser();
+        long own = createItem(user, "sticky_note", "{\"text\":\"own\"}").get("id").asLong();
+        long foreign = createItem(other, "sticky_note", "{\"text\":\"foreign\"}").get("id").asLong();
+        long foreignBoard = objectMapper.readTree(mockMvc.perform(post("/api/boards")
+                        .header(HttpHeaders.AUTHORIZATION, other.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Theirs\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray()).get("id").asLong();
+
+        ArrayNode operations = objectMapper.createArrayNode();
+        operations.add(operation("update", foreign, "{\"text\":\"hijacked\"}"));
+        operations.add(operation("delete", foreign, null));
+        operations.add(operation("update", Long.MAX_VALUE, "{\"text\":\"nothing\"}"));
+        operations.add(operation("create", null, "{\"text\":\"elsewhere\"}").put("boardId", foreignBoard));
+        operations.add(operation("create", null, "{\"text\":\"nowhere\"}").put("boardId", Long.MAX_VALUE));
+        operations.add(operation("move", own, null));
+        operations.add(operation("update", own, "{\"text\":\"still applied\"}"));
+        JsonNode results = batch(user, operations);
+
+        assertEquals(403, results.get(0).get("status").asInt());
+        assertEquals(403, results.get(1).get("status").asInt());
+        assertEquals(404, results.get(2).get("status").asInt());
+        assertEquals(403, results.get(3).get("status").asInt());
+        assertEquals(404, results.get(4).get("status").asInt());
+        assertEquals(400, results.get(5).get("status").asInt());
+        assertEquals(200, results.get(6).get("status").asInt());
+
+        // The other user's item is untouched and still live
+        JsonNode theirs = list(other);
+        assertEquals(1, theirs.size());
+        assertEquals("{\"text\":\"foreign\"}", theirs.get(0).get("data").asText());
+        assertEquals("{\"text\":\"still applied\"}", list(user).get(0).get("data").asText());
+    }
+
+    @Test
+    void staleConflictingUpdateIs409WithTheCurrentItem() throws Exception {
+        TestUser user = newUser();
+        JsonNode item = createItem(user, "sticky_note", "{\"text\":\"v0\"}");
+        long id = item.get("id").asLong();
+        long baseVersion = item.get("version").asLong();
+        // Another tab changes the text first
+        mockMvc.perform(put("/api/items/" + id)
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(operation("update", null, "{\"text\":\"theirs\"}").toString()))
+                .andExpect(status().isOk());
+
+        ArrayNode operations = objectMapper.createArrayNode();
+        operations.add(operation("update", id, "{\"text\":\"mine\"}").put("version", baseVersion));
+        JsonNode result = batch(user, operations).get(0);
+
+        assertEquals(409, result.get("status").asInt());
+        assertEquals("{\"text\":\"theirs\"}", result.get("item").get("data").asText());
+        assertTrue(result.get("item").get("version").asLong() > baseVersion);
+        assertFalse(list(user).get(0).get("data").asText().contains("mine"));
+    }
+
+    @Test
+    void batchOverTheOperationCapIsTooLarge() throws Exception {
+        TestUser user = newUser();
+        ArrayNode operations = objectMapper.createArrayNode();
+        for (int i = 0; i < 501; i++) {
+            operations.add(operation("create", null, "{\"text\":\"" + i + "\"}"));
+        }
+
+        mockMvc.perform(post("/api/items/batch")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(operations.toString()))
+                .andExpect(status().isPayloadTooLarge());
+        assertEquals(0, list(user).size());
+    }
+
+    private ObjectNode operation(String op, Long id, String data) {
+        ObjectNode operation = objectMapper.createObjectNode()
+                .put("op", op)
+                .put("type", "sticky_note")
+                .put("x", 10).put("y", 20).put("width", 200).put("height", 140).put("zIndex", 0)
+                .put("data", data);
+        if (id != null) {
+            operation.put("id", id);
+        }
+        return operation;
+    }
+
+    private JsonNode batch(TestUser user, ArrayNode operations) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(post("/api/items/batch")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(operations.toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+
+    private JsonNode list(TestUser user) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/api/items")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+}
@@ -0,0 +1,124 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import com.backenddailyboard.dailyboard.ApiTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Layout first, content on demand: GET /api/items?fields=geometry, and the single and
+ * bulk data endpoints, which only serve the caller's live items.
+ */
+class CanvasItemDataTest extends ApiTestSupport {
+
+    @Test
+    void geometryListingHasLiveItemsWithoutData() throws Exception {
+        TestUser user = newUser();
+        long live = createItem(user, "sticky_note", "{\"text\":\"live\"}").get("id").asLong();
+        long deleted = createItem(user, "sticky_note", "{\"text\":\"deleted\"}").get("id").asLong();
+        deleteItem(user, deleted);
+
+        JsonNode geometry = json(mockMvc.perform(get("/api/items").param("fields", "geometry")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+
+        assertEquals(1, geometry.size());
+        assertEquals(live, geometry.get(0).get("id").asLong());
+        assertEquals(200.0, geometry.get(0).get("width").asDouble());
+        assertFalse(geometry.get(0).has("data"));
+    }
+
+    @Test
+    void dataOfALiveItem() throws Exception {
+        TestUser user = newUser();
+        JsonNode item = createItem(user, "sticky_note", "{\"text\":\"hello\"}");
+
+        JsonNode data = json(mockMvc.perform(get("/api/items/" + item.get("id").asLong() + "/data")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+
+        assertEquals(item.get("id").asLong(), data.get("id").asLong());
+        assertEquals("{\"text\":\"hello\"}", data.get("data").asText());
+        assertEquals(item.get("version").asLong(), data.get("version").asLong());
+    }
+
+    @Test
+    void dataOfADeletedItemIsNotFound() throws Exception {
+        TestUser user = newUser();
+        long id = createItem(user, "sticky_note", "{\"text\":\"gone\"}").get("id").asLong();
+        deleteItem(user, id);
+
+        mockMvc.perform(get("/api/items/" + id + "/data").header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void dataOfAnotherUsersItemIsForbidden() throws Exception {
+        TestUser owner = newUser();
+        long id = createItem(owner, "sticky_note", "{\"text\":\"mine\"}").get("id").asLong();
+
+        mockMvc.perform(get("/api/items/" + id + "/data").header(HttpHeaders.AUTHORIZATION, newUser().authorization()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void bulkDataLeavesOutDeletedForeignAndUnknownIds() throws Exception {
+        TestUser user = newUser();
+        long live = createItem(user, "sticky_note", "{\"text\":\"live\"}").get("id").asLong();
+        long deleted = createItem(user, "sticky_note", "{\"text\":\"deleted\"}").get("id").asLong();
+        deleteItem(user, deleted);
+        long foreign = createItem(newUser(), "sticky_note", "{\"text\":\"foreign\"}").get("id").asLong();
+
+        JsonNode data = bulkData(user, List.of(live, deleted, foreign, Long.MAX_VALUE));
+
+        List<Long> ids = new ArrayList<>();
+        data.forEach(entry -> ids.add(entry.get("id").asLong()));
+        assertEquals(List.of(live), ids);
+        assertEquals("{\"text\":\"live\"}", data.get(0).get("data").asText());
+    }
+
+    @Test
+    void bulkDataOverTheIdCapIsTooLarge() throws Exception {
+        TestUser user = newUser();
+        List<Long> ids = LongStream.rangeClosed(1, 501).boxed().toList();
+
+        mockMvc.perform(post("/api/items/data")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(ids)))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    private JsonNode bulkData(TestUser user, List<Long> ids) throws Exception {
+        return json(mockMvc.perform(post("/api/items/data")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(ids)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+
+    private void deleteItem(TestUser user, long id) throws Exception {
+        mockMvc.perform(delete("/api/items/" + id).header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk());
+    }
+
+    private JsonNode json(byte[] body) throws Exception {
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,80 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.backenddailyboard.dailyboard.ApiTestSupport;
+import com.backenddailyboard.dailyboard.util.ContentCoding;
+
+/**
+ * GET /api/items serves its cached snapshot pre-gzipped only when gzip is what the
+ * Accept-Encoding negotiates to, the same answer ResponseCompressionFilter would give.
+ */
+class CanvasItemListingEncodingTest extends ApiTestSupport {
+
+    private static final int ITEMS = 20;
+
+    private TestUser user;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        user = newUser();
+        // Well above the snapshot's gzip threshold and the filter's minimum response size
+        for (int i = 0; i < ITEMS; i++) {
+            createItem(user, "sticky_note", "{\"text\":\"" + "note ".repeat(100) + i + "\"}");
+        }
+    }
+
+    @Test
+    void gzipWithZeroQualityGetsTheIdentityBody() throws Exception {
+        MockHttpServletResponse response = list("gzip;q=0");
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(ITEMS, objectMapper.readTree(response.getContentAsByteArray()).size());
+        assertFalse(response.getHeader(HttpHeaders.ETAG).endsWith("-gzip\""));
+    }
+
+    @Test
+    void acceptedGzipGetsTheGzippedSnapshot() throws Exception {
+        MockHttpServletResponse response = list("gzip, deflate");
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(response.getHeader(HttpHeaders.ETAG).endsWith("-gzip\""));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertEquals(ITEMS, objectMapper.readTree(in.readAllBytes()).size());
+        }
+    }
+
+    @Test
+    void preferredZstdIsLeftToTheFilter() throws Exception {
+        assumeTrue(ContentCoding.forToken("zstd") == ContentCoding.ZSTD);
+
+        MockHttpServletResponse response = list("gzip;q=0.5, zstd");
+
+        assertEquals("zstd", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(response.getHeader(HttpHeaders.ETAG).endsWith("-zstd\""));
+    }
+
+    private MockHttpServletResponse list(String acceptEncoding) throws Exception {
+        return mockMvc.perform(get("/api/items")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse();
+    }
+}
@@ -0,0 +1,108 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.backenddailyboard.dailyboard.ApiTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Listings show live items only; soft-deleted ones are reachable through the trash
+ * endpoint until they are undeleted.
+ */
+class CanvasItemListingTest extends ApiTestSupport {
+
+    @Test
+    void fullAndPagedListingsLeaveOutDeletedItems() throws Exception {
+        TestUser user = newUser();
+        long live = createItem(user, "sticky_note", "{\"text\":\"live\"}").get("id").asLong();
+        long deleted = createItem(user, "sticky_note", "{\"text\":\"deleted\"}").get("id").asLong();
+        deleteItem(user, deleted);
+
+        JsonNode full = json(get("/api/items"), user);
+        JsonNode page = json(get("/api/items").param("limit", "10"), user);
+
+        assertEquals(List.of(live), ids(full));
+        assertFalse(full.get(0).get("deleted").asBoolean());
+        assertEquals(List.of(live), ids(page.get("items")));
+    }
+
+    @Test
+    void trashListsDeletedItemsNewestFirstWithoutData() throws Exception {
+        TestUser user = newUser();
+        long older = createItem(user, "sticky_note", "{\"text\":\"older\"}").get("id").asLong();
+        long newer = createItem(user, "todo_list", "{\"items\":[]}").get("id").asLong();
+        createItem(user, "sticky_note", "{\"text\":\"live\"}");
+        deleteItem(user, older);
+        deleteItem(user, newer);
+        long foreign = createItem(newUser(), "sticky_note", "{\"text\":\"foreign\"}").get("id").asLong();
+
+        JsonNode trash = json(get("/api/items/trash"), user);
+
+        assertEquals(List.of(newer, older), ids(trash));
+        assertFalse(ids(trash).contains(foreign));
+        assertEquals("todo_list", trash.get(0).get("type").asText());
+        assertTrue(trash.get(0).hasNonNull("deletedAt"));
+        assertFalse(trash.get(0).has("data"));
+    }
+
+    @Test
+    void undeleteMovesAnItemBackFromTheTrash() throws Exception {
+        TestUser user = newUser();
+        long id = createItem(user, "sticky_note", "{\"text\":\"restored\"}").get("id").asLong();
+        deleteItem(user, id);
+
+        mockMvc.perform(put("/api/items/" + id + "/undelete").header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk());
+
+        JsonNode full = json(get("/api/items"), user);
+        assertEquals(List.of(id), ids(full));
+        assertEquals("{\"text\":\"restored\"}", full.get(0).get("data").asText());
+        assertEquals(0, json(get("/api/items/trash"), user).size());
+    }
+
+    @Test
+    void undeleteChecksOwnership() throws Exception {
+        TestUser owner = newUser();
+        long id = createItem(owner, "sticky_note", "{\"text\":\"mine\"}").get("id").asLong();
+        deleteItem(owner, id);
+
+        mockMvc.perform(put("/api/items/" + id + "/undelete")
+                        .header(HttpHeaders.AUTHORIZATION, newUser().authorization()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(put("/api/items/" + Long.MAX_VALUE + "/undelete")
+                        .header(HttpHeaders.AUTHORIZATION, owner.authorization()))
+                .andExpect(status().isNotFound());
+
+        assertEquals(List.of(id), ids(json(get("/api/items/trash"), owner)));
+    }
+
+    private void deleteItem(TestUser user, long id) throws Exception {
+        mockMvc.perform(delete("/api/items/" + id).header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk());
+    }
+
+    private JsonNode json(MockHttpServletRequestBuilder request, TestUser user) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+
+    private List<Long> ids(JsonNode items) {
+        List<Long> ids = new ArrayList<>();
+        items.forEach(item -> ids.add(item.get("id").asLong()));
+        return ids;
+    }
+}
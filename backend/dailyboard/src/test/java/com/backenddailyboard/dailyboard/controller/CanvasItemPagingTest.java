@@ -0,0 +1,143 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+
+import com.backenddailyboard.dailyboard.ApiTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Keyset paging of GET /api/items?limit=&after= through CanvasItemRepository.findPage
+ * on the test database, plus the 400s for mixed listing modes.
+ */
+@TestPropertySource(properties = "items.page.max-size=4")
+class CanvasItemPagingTest extends ApiTestSupport {
+
+    @Test
+    void pagesCoverEveryLiveItemOnce() throws Exception {
+        TestUser user = newUser();
+        List<Long> live = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            long id = createItem(user, "sticky_note", "{\"text\":\"" + i + "\"}").get("id").asLong();
+            if (i % 4 == 0) {
+                mockMvc.perform(delete("/api/items/" + id).header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                        .andExpect(status().isOk());
+            } else {
+                live.add(id);
+            }
+        }
+        createItem(newUser(), "sticky_note", "{\"text\":\"foreign\"}");
+
+        List<Long> seen = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            JsonNode page = page(user, 3, after);
+            page.get("items").forEach(item -> seen.add(item.get("id").asLong()));
+            after = page.path("next").textValue();
+            pages++;
+        } while (after != null);
+
+        assertEquals(live, seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void lastFullPageHasNoNext() throws Exception {
+        TestUser user = newUser();
+        List<Long> ids = createItems(user, 6);
+
+        JsonNode first = page(user, 3, null);
+        JsonNode second = page(user, 3, first.path("next").textValue());
+
+        assertEquals(Long.toString(ids.get(2)), first.path("next").textValue());
+        assertEquals(ids.subList(3, 6), ids(second));
+        assertNull(second.path("next").textValue());
+    }
+
+    @Test
+    void limitIsCappedAtTheMaxPageSize() throws Exception {
+        TestUser user = newUser();
+        List<Long> ids = createItems(user, 10);
+
+        JsonNode page = page(user, 100, null);
+
+        assertEquals(ids.subList(0, 4), ids(page));
+        assertEquals(Long.toString(ids.get(3)), page.path("next").textValue());
+    }
+
+    @Test
+    void onlyTheFirstPageCarriesTheSyncCursor() throws Exception {
+        TestUser user = newUser();
+        List<Long> ids = createItems(user, 2);
+
+        assertNotNull(pageResponse(user, "1", null).getHeader(CanvasItemController.SYNC_CURSOR_HEADER));
+        assertNull(pageResponse(user, "1", Long.toString(ids.get(0)))
+                .getHeader(CanvasItemController.SYNC_CURSOR_HEADER));
+    }
+
+    @Test
+    void nonPositiveLimitIsRejected() throws Exception {
+        mockMvc.perform(get("/api/items").param("limit", "0")
+                        .header(HttpHeaders.AUTHORIZATION, newUser().authorization()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void mixedListingModesAreRejected() throws Exception {
+        TestUser user = newUser();
+
+        mockMvc.perform(get("/api/items").param("limit", "10").param("since", "0")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/items").param("after", "5").param("since", "0")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/items").param("after", "5")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/items").param("limit", "2").param("after", "5")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk());
+    }
+
+    private List<Long> createItems(TestUser user, int count) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(createItem(user, "sticky_note", "{\"text\":\"" + i + "\"}").get("id").asLong());
+        }
+        return ids;
+    }
+
+    private JsonNode page(TestUser user, int limit, String after) throws Exception {
+        return objectMapper.readTree(pageResponse(user, Integer.toString(limit), after).getContentAsByteArray());
+    }
+
+    private MockHttpServletResponse pageResponse(TestUser user, String limit, String after) throws Exception {
+        var request = get("/api/items").param("limit", limit).header(HttpHeaders.AUTHORIZATION, user.authorization());
+        if (after != null) {
+            request.param("after", after);
+        }
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    private List<Long> ids(JsonNode page) {
+        List<Long> ids = new ArrayList<>();
+        page.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+        return ids;
+    }
+}
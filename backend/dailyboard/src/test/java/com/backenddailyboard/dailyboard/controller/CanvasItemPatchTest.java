@@ -0,0 +1,165 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import com.backenddailyboard.dailyboard.ApiTestSupport;
+import com.backenddailyboard.dailyboard.model.CanvasItem;
+import com.backenddailyboard.dailyboard.repository.CanvasItemRepository;
+import com.backenddailyboard.dailyboard.service.GeometryWriteBuffer;
+import com.backenddailyboard.dailyboard.service.StrokeCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * PATCH /api/items/{id}: only the fields in the body are written. The scheduled
+ * geometry flush is pushed out of the way so a buffered drag is still pending when
+ * the patch arrives.
+ */
+@TestPropertySource(properties = "items.write-behind.flush-interval-ms=3600000")
+class CanvasItemPatchTest extends ApiTestSupport {
+
+    @Autowired
+    private CanvasItemRepository canvasItemRepository;
+
+    @Autowired
+    private GeometryWriteBuffer geometryWriteBuffer;
+
+    @Test
+    void geometryPatchKeepsDataAndAnswersWithoutIt() throws Exception {
+        TestUser user = newUser();
+        JsonNode item = createItem(user, "sticky_note", "{\"text\":\"kept\"}");
+        long id = item.get("id").asLong();
+
+        JsonNode patched = patchItem(user, id, "{\"x\":75,\"height\":90}", false);
+
+        assertEquals(75.0, patched.get("x").asDouble());
+        assertEquals(20.0, patched.get("y").asDouble());
+        assertEquals(90.0, patched.get("height").asDouble());
+        assertFalse(patched.has("data"));
+
+        CanvasItem row = row(id);
+        assertEquals(75.0, row.getX());
+        assertEquals(200.0, row.getWidth());
+        assertEquals("{\"text\":\"kept\"}", row.getData());
+        assertEquals(item.get("version").asLong() + 1, row.getVersion());
+    }
+
+    @Test
+    void dataPatchKeepsGeometry() throws Exception {
+        TestUser user = newUser();
+        JsonNode item = createItem(user, "sticky_note", "{\"text\":\"before\"}");
+        long id = item.get("id").asLong();
+
+        JsonNode patched = patchItem(user, id, "{\"data\":\"{\\\"text\\\":\\\"after\\\"}\"}", false);
+
+        assertEquals(10.0, patched.get("x").asDouble());
+        assertFalse(patched.has("data"));
+
+        CanvasItem row = row(id);
+        assertEquals("{\"text\":\"after\"}", row.getData());
+        assertEquals(10.0, row.getX());
+        assertEquals(140.0, row.getHeight());
+        assertTrue(row.getVersion() > item.get("version").asLong());
+    }
+
+    @Test
+    void includeDataAnswersWithTheWholeItem() throws Exception {
+        TestUser user = newUser();
+        long id = createItem(user, "sticky_note", "{\"text\":\"whole\"}").get("id").asLong();
+
+        JsonNode patched = patchItem(user, id, "{\"width\":240}", true);
+
+        assertEquals(240.0, patched.get("width").asDouble());
+        assertEquals("{\"text\":\"whole\"}", patched.get("data").asText());
+    }
+
+    @Test
+    void patchOfAnotherUsersItemIsForbidden() throws Exception {
+        TestUser owner = newUser();
+        JsonNode item = createItem(owner, "sticky_note", "{\"text\":\"mine\"}");
+        long id = item.get("id").asLong();
+
+        mockMvc.perform(patch("/api/items/" + id)
+                        .header(HttpHeaders.AUTHORIZATION, newUser().authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"x\":999}"))
+                .andExpect(status().isForbidden());
+
+        CanvasItem row = row(id);
+        assertEquals(10.0, row.getX());
+        assertEquals(item.get("version").asLong(), row.getVersion());
+    }
+
+    @Test
+    void patchOfAnUnknownItemIsNotFound() throws Exception {
+        mockMvc.perform(patch("/api/items/" + Long.MAX_VALUE)
+                        .header(HttpHeaders.AUTHORIZATION, newUser().authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"x\":1}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void patchFoldsInABufferedDrag() throws Exception {
+        TestUser user = newUser();
+        long id = createItem(user, "sticky_note", "{\"text\":\"dragged\"}").get("id").asLong();
+
+        mockMvc.perform(put("/api/items/" + id + "/geometry")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"x\":50,\"y\":60}"))
+                .andExpect(status().isAccepted());
+
+        JsonNode patched = patchItem(user, id, "{\"y\":70}", false);
+
+        // The patched field wins, the rest of the drag is written along with it
+        assertEquals(50.0, patched.get("x").asDouble());
+        assertEquals(70.0, patched.get("y").asDouble());
+        long version = row(id).getVersion();
+
+        // Nothing is left in the buffer to overwrite the patch later
+        geometryWriteBuffer.flush();
+        CanvasItem row = row(id);
+        assertEquals(50.0, row.getX());
+        assertEquals(70.0, row.getY());
+        assertEquals(version, row.getVersion());
+    }
+
+    @Test
+    void freeDrawDataIsStoredEncoded() throws Exception {
+        TestUser user = newUser();
+        long id = createItem(user, StrokeCodec.FREE_DRAW, "{\"strokes\":[]}").get("id").asLong();
+        String strokes = "{\"strokes\":[{\"points\":[0,0,10,10,20,0],\"color\":\"#222\",\"size\":3}]}";
+
+        patchItem(user, id, objectMapper.createObjectNode().put("data", strokes).toString(), false);
+
+        String stored = row(id).getData();
+        assertTrue(StrokeCodec.isEncoded(stored));
+        assertNotEquals(strokes, stored);
+    }
+
+    private JsonNode patchItem(TestUser user, long id, String body, boolean includeData) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(patch("/api/items/" + id)
+                        .param("includeData", String.valueOf(includeData))
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+
+    private CanvasItem row(long id) {
+        return canvasItemRepository.findById(id).orElseThrow();
+    }
+}
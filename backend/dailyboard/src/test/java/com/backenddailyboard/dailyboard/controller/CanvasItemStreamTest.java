@@ -0,0 +1,90 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.backenddailyboard.dailyboard.ApiTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * GET /api/items/stream: the same live items as the full listing, written from a
+ * cursor as a JSON array or as one item per line.
+ */
+class CanvasItemStreamTest extends ApiTestSupport {
+
+    @Test
+    void streamsLiveItemsAsAJsonArray() throws Exception {
+        TestUser user = newUser();
+        long first = createItem(user, "sticky_note", "{\"text\":\"one\"}").get("id").asLong();
+        long second = createItem(user, "sticky_note", "{\"text\":\"two\"}").get("id").asLong();
+        long deleted = createItem(user, "sticky_note", "{\"text\":\"gone\"}").get("id").asLong();
+        mockMvc.perform(delete("/api/items/" + deleted).header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk());
+
+        MockHttpServletResponse response = stream(user, MediaType.APPLICATION_JSON_VALUE);
+
+        assertTrue(response.getContentType().startsWith(MediaType.APPLICATION_JSON_VALUE));
+        assertNotNull(response.getHeader(CanvasItemController.SYNC_CURSOR_HEADER));
+        JsonNode items = objectMapper.readTree(response.getContentAsByteArray());
+        assertTrue(items.isArray());
+        assertEquals(Set.of(first, second), ids(items));
+    }
+
+    @Test
+    void streamsOneItemPerLineForNdjson() throws Exception {
+        TestUser user = newUser();
+        long first = createItem(user, "sticky_note", "{\"text\":\"one\"}").get("id").asLong();
+        long second = createItem(user, "sticky_note", "{\"text\":\"two\"}").get("id").asLong();
+
+        MockHttpServletResponse response = stream(user, MediaType.APPLICATION_NDJSON_VALUE);
+
+        assertTrue(response.getContentType().startsWith(MediaType.APPLICATION_NDJSON_VALUE));
+        String[] lines = response.getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        List<JsonNode> items = new ArrayList<>();
+        for (String line : lines) {
+            items.add(objectMapper.readTree(line));
+        }
+        assertEquals(Set.of(first, second), ids(items));
+        assertEquals("{\"text\":\"one\"}", items.stream()
+                .filter(item -> item.get("id").asLong() == first)
+                .findFirst().orElseThrow()
+                .get("data").asText());
+    }
+
+    @Test
+    void emptyBoardStreamsAnEmptyArray() throws Exception {
+        MockHttpServletResponse response = stream(newUser(), MediaType.APPLICATION_JSON_VALUE);
+
+        assertEquals(0, objectMapper.readTree(response.getContentAsByteArray()).size());
+    }
+
+    private MockHttpServletResponse stream(TestUser user, String accept) throws Exception {
+        return mockMvc.perform(get("/api/items/stream")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .header(HttpHeaders.ACCEPT, accept))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    private Set<Long> ids(Iterable<JsonNode> items) {
+        Set<Long> ids = new HashSet<>();
+        items.forEach(item -> ids.add(item.get("id").asLong()));
+        return ids;
+    }
+}
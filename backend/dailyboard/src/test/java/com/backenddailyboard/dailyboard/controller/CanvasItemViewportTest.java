@@ -0,0 +1,86 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import com.backenddailyboard.dailyboard.ApiTestSupport;
+import com.backenddailyboard.dailyboard.service.StrokeCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Viewport reads. The intersection query itself uses PostgreSQL geometric operators
+ * and the GiST index, which the in-memory test database doesn't have, so only what
+ * runs before it is covered here: region validation, and the zoom simplification the
+ * viewport shares with the data endpoints.
+ */
+class CanvasItemViewportTest extends ApiTestSupport {
+
+    @Test
+    void invertedRegionIsABadRequest() throws Exception {
+        TestUser user = newUser();
+
+        mockMvc.perform(get("/api/items")
+                        .param("minX", "100").param("minY", "0")
+                        .param("maxX", "0").param("maxY", "100")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/items")
+                        .param("minX", "0").param("minY", "100")
+                        .param("maxX", "100").param("maxY", "0")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void nonNumericBoundIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/items")
+                        .param("minX", "left").param("minY", "0")
+                        .param("maxX", "100").param("maxY", "100")
+                        .header(HttpHeaders.AUTHORIZATION, newUser().authorization()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void zoomedOutStrokesAreSimplified() throws Exception {
+        TestUser user = newUser();
+        long id = createItem(user, StrokeCodec.FREE_DRAW, zigzag()).get("id").asLong();
+
+        int full = points(user, id, null);
+        int zoomedOut = points(user, id, "0.1");
+
+        // A 2 px zigzag survives the stored tolerance but is a straight line at 1/10 scale
+        assertEquals(41, full);
+        assertEquals(2, zoomedOut);
+        assertEquals(full, points(user, id, "1"));
+    }
+
+    // 41 points alternating 2 px up and down along a 100 px line
+    private String zigzag() {
+        ObjectNode data = objectMapper.createObjectNode();
+        ObjectNode stroke = data.putArray("strokes").addObject();
+        ArrayNode points = stroke.putArray("points");
+        for (int i = 0; i <= 40; i++) {
+            points.add(i * 2.5).add(i % 2 == 0 ? 0 : 2);
+        }
+        stroke.put("color", "#222").put("size", 3);
+        return data.toString();
+    }
+
+    private int points(TestUser user, long id, String zoom) throws Exception {
+        var request = get("/api/items/" + id + "/data").header(HttpHeaders.AUTHORIZATION, user.authorization());
+        if (zoom != null) {
+            request.param("zoom", zoom);
+        }
+        JsonNode response = objectMapper.readTree(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+        JsonNode data = objectMapper.readTree(response.get("data").asText());
+        return data.get("strokes").get(0).get("points").size() / 2;
+    }
+}
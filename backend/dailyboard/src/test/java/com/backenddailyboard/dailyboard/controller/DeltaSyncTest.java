@@ -0,0 +1,86 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import com.backenddailyboard.dailyboard.ApiTestSupport;
+import com.backenddailyboard.dailyboard.model.User;
+import com.fasterxml.jackson.databind.JsonNode;
+
+class DeltaSyncTest extends ApiTestSupport {
+
+    @Test
+    void reportsChangesAndTombstonesSinceTheCursor() throws Exception {
+        TestUser user = newUser();
+        JsonNode kept = createItem(user, "sticky_note", "{\"text\":\"kept\"}");
+        JsonNode deleted = createItem(user, "sticky_note", "{\"text\":\"deleted\"}");
+        String cursor = fullLoadCursor(user);
+
+        mockMvc.perform(delete("/api/items/" + deleted.get("id").asLong())
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk());
+        JsonNode delta = since(user, cursor);
+
+        assertNotNull(delta.get("cursor"));
+        boolean sawTombstone = false;
+        for (JsonNode item : delta.get("items")) {
+            if (item.get("id").asLong() == deleted.get("id").asLong()) {
+                assertTrue(item.get("deleted").asBoolean());
+                sawTombstone = true;
+            } else {
+                // Only repeated because of the cursor overlap, and still live
+                assertEquals(kept.get("id").asLong(), item.get("id").asLong());
+                assertFalse(item.get("deleted").asBoolean());
+            }
+        }
+        assertTrue(sawTombstone);
+    }
+
+    @Test
+    void cursorFromBeforeATrimmedTombstoneIsGone() throws Exception {
+        TestUser user = newUser();
+        User row = userRepository.findById(user.id()).orElseThrow();
+        row.setTrashLimit(1);
+        userRepository.save(row);
+
+        long[] ids = new long[3];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = createItem(user, "sticky_note", "{\"text\":\"" + i + "\"}").get("id").asLong();
+        }
+        String cursor = fullLoadCursor(user);
+        for (long id : ids) {
+            mockMvc.perform(delete("/api/items/" + id).header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                    .andExpect(status().isOk());
+        }
+
+        // Two of the three tombstones were trimmed; the client can't learn about them by delta
+        mockMvc.perform(get("/api/items").param("since", cursor)
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isGone());
+        mockMvc.perform(get("/api/items").param("since", Long.toString(System.currentTimeMillis()))
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk());
+    }
+
+    private String fullLoadCursor(TestUser user) throws Exception {
+        return mockMvc.perform(get("/api/items").header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(CanvasItemController.SYNC_CURSOR_HEADER);
+    }
+
+    private JsonNode since(TestUser user, String cursor) throws Exception {
+        byte[] body = mockMvc.perform(get("/api/items").param("since", cursor)
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        return objectMapper.readTree(body);
+    }
+}
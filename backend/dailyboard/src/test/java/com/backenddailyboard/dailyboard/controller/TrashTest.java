@@ -0,0 +1,101 @@
+package com.backenddailyboard.dailyboard.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+
+import com.backenddailyboard.dailyboard.ApiTestSupport;
+import com.backenddailyboard.dailyboard.model.User;
+import com.backenddailyboard.dailyboard.repository.CanvasItemRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * The trash keeps the newest N soft-deleted items; every delete hard-deletes whatever
+ * falls past that.
+ */
+@TestPropertySource(properties = "items.trash.default-limit=3")
+class TrashTest extends ApiTestSupport {
+
+    @Autowired
+    private CanvasItemRepository canvasItemRepository;
+
+    @Test
+    void keepsTheNewestDefaultLimitItems() throws Exception {
+        TestUser user = newUser();
+        List<Long> ids = createItems(user, 5);
+        for (long id : ids) {
+            deleteItem(user, id);
+        }
+
+        // Newest first
+        assertEquals(List.of(ids.get(4), ids.get(3), ids.get(2)), trashIds(user));
+        assertTrue(canvasItemRepository.findById(ids.get(0)).isEmpty());
+        assertTrue(canvasItemRepository.findById(ids.get(1)).isEmpty());
+        assertTrue(canvasItemRepository.findById(ids.get(2)).orElseThrow().isDeleted());
+    }
+
+    @Test
+    void usersOwnLimitWins() throws Exception {
+        TestUser user = newUser();
+        User row = userRepository.findById(user.id()).orElseThrow();
+        row.setTrashLimit(1);
+        userRepository.save(row);
+
+        List<Long> ids = createItems(user, 3);
+        for (long id : ids) {
+            deleteItem(user, id);
+        }
+
+        assertEquals(List.of(ids.get(2)), trashIds(user));
+        assertEquals(1, canvasItemRepository.findAllByUserId(user.id()).size());
+    }
+
+    @Test
+    void trimOnlyTouchesTheCallersTrash() throws Exception {
+        TestUser other = newUser();
+        List<Long> otherIds = createItems(other, 3);
+        for (long id : otherIds) {
+            deleteItem(other, id);
+        }
+
+        TestUser user = newUser();
+        for (long id : createItems(user, 5)) {
+            deleteItem(user, id);
+        }
+
+        assertEquals(List.of(otherIds.get(2), otherIds.get(1), otherIds.get(0)), trashIds(other));
+    }
+
+    private List<Long> createItems(TestUser user, int count) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(createItem(user, "sticky_note", "{\"text\":\"" + i + "\"}").get("id").asLong());
+        }
+        return ids;
+    }
+
+    private void deleteItem(TestUser user, long id) throws Exception {
+        mockMvc.perform(delete("/api/items/" + id).header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk());
+    }
+
+    private List<Long> trashIds(TestUser user) throws Exception {
+        JsonNode trash = objectMapper.readTree(mockMvc.perform(get("/api/items/trash")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+        List<Long> ids = new ArrayList<>();
+        trash.forEach(item -> ids.add(item.get("id").asLong()));
+        return ids;
+    }
+}
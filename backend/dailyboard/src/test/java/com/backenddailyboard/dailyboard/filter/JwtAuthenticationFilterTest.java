@@ -0,0 +1,48 @@
+package com.backenddailyboard.dailyboard.filter;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import com.backenddailyboard.dailyboard.ApiTestSupport;
+
+/**
+ * The Authorization header as the API sees it: a verified token signs in the user it
+ * names, anything else is sent to the OAuth login.
+ */
+class JwtAuthenticationFilterTest extends ApiTestSupport {
+
+    @Test
+    void validTokenSignsIn() throws Exception {
+        TestUser user = newUser();
+
+        mockMvc.perform(get("/api/items").header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void forgedTokenIsNotAuthenticated() throws Exception {
+        TestUser user = newUser();
+        String[] parts = user.authorization().substring("Bearer ".length()).split("\\.");
+        String[] other = jwtUtil.generateToken("someone-else", "x@example.com").split("\\.");
+
+        mockMvc.perform(get("/api/items")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + parts[0] + "." + other[1] + "." + parts[2]))
+                .andExpect(status().is3xxRedirection());
+    }
+
+    @Test
+    void missingTokenIsNotAuthenticated() throws Exception {
+        mockMvc.perform(get("/api/items")).andExpect(status().is3xxRedirection());
+    }
+
+    @Test
+    void validTokenWithoutAUserRowFindsNothing() throws Exception {
+        String token = jwtUtil.generateToken("never-signed-up", "nobody@example.com");
+
+        mockMvc.perform(get("/api/items").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,101 @@
+package com.backenddailyboard.dailyboard.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.backenddailyboard.dailyboard.ApiTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Compressed request bodies: decoded for the controllers, and answered with 413 once
+ * they decode past their cap (http.compression.max-request-bytes, or
+ * boards.import.max-bytes for imports).
+ */
+@TestPropertySource(properties = { "http.compression.max-request-bytes=2048", "boards.import.max-bytes=4096" })
+class RequestDecompressionFilterTest extends ApiTestSupport {
+
+    @Test
+    void gzippedBodyIsDecoded() throws Exception {
+        TestUser user = newUser();
+
+        byte[] body = send(user, "/api/items", MediaType.APPLICATION_JSON, "gzip", gzip(item("small")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode created = objectMapper.readTree(body);
+        assertEquals("{\"text\":\"small\"}", created.get("data").asText());
+    }
+
+    @Test
+    void bodyDecodingPastTheCapIsTooLarge() throws Exception {
+        TestUser user = newUser();
+
+        // A few dozen bytes on the wire, well over the cap once decoded
+        send(user, "/api/items", MediaType.APPLICATION_JSON, "gzip", gzip(item("x".repeat(10_000))))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    void importDecodingPastItsCapIsTooLarge() throws Exception {
+        TestUser user = newUser();
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(archive)) {
+            // Stored as is, so the archive itself is over the import cap and only gzip shrinks it
+            zip.setLevel(Deflater.NO_COMPRESSION);
+            zip.putNextEntry(new ZipEntry("boards.ndjson"));
+            zip.write("{\"id\":1,\"name\":\"Board\"}\n".repeat(1_000).getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        send(user, "/api/boards/import", MediaType.parseMediaType("application/zip"), "gzip", gzip(archive.toByteArray()))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    void unknownCodingIsUnsupported() throws Exception {
+        TestUser user = newUser();
+
+        send(user, "/api/items", MediaType.APPLICATION_JSON, "br", item("small"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    private ResultActions send(TestUser user, String path, MediaType contentType, String contentEncoding,
+            byte[] body) throws Exception {
+        return mockMvc.perform(post(path)
+                .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                .header(HttpHeaders.CONTENT_ENCODING, contentEncoding)
+                .contentType(contentType)
+                .content(body));
+    }
+
+    private byte[] item(String text) {
+        return objectMapper.createObjectNode()
+                .put("type", "sticky_note")
+                .put("x", 0).put("y", 0).put("width", 200).put("height", 140).put("zIndex", 0)
+                .put("data", "{\"text\":\"" + text + "\"}")
+                .toString()
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
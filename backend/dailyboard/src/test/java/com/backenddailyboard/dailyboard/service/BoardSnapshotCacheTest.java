@@ -0,0 +1,180 @@
+package com.backenddailyboard.dailyboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.backenddailyboard.dailyboard.ApiTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * The cached GET /api/items body must never outlive a change to the board. Each test
+ * primes the snapshot, makes one kind of write, and expects the old ETag to be refused
+ * with the new content. The scheduled geometry flush is pushed out of the way so the
+ * flush can be tested on its own.
+ */
+@TestPropertySource(properties = "items.write-behind.flush-interval-ms=3600000")
+class BoardSnapshotCacheTest extends ApiTestSupport {
+
+    @Autowired
+    private GeometryWriteBuffer geometryWriteBuffer;
+
+    @Test
+    void unchangedBoardIsNotModified() throws Exception {
+        TestUser user = newUser();
+        createItem(user, "sticky_note", "{\"text\":\"same\"}");
+        String etag = list(user).getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/items")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void createInvalidates() throws Exception {
+        TestUser user = newUser();
+        createItem(user, "sticky_note", "{\"text\":\"first\"}");
+        String etag = list(user).getHeader(HttpHeaders.ETAG);
+
+        createItem(user, "sticky_note", "{\"text\":\"second\"}");
+
+        assertEquals(2, changedSince(user, etag).size());
+    }
+
+    @Test
+    void updateInvalidates() throws Exception {
+        TestUser user = newUser();
+        JsonNode item = createItem(user, "sticky_note", "{\"text\":\"before\"}");
+        String etag = list(user).getHeader(HttpHeaders.ETAG);
+
+        write(user, put("/api/items/" + item.get("id").asLong())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.createObjectNode()
+                        .put("type", "sticky_note")
+                        .put("x", 10).put("y", 20).put("width", 200).put("height", 140).put("zIndex", 0)
+                        .put("data", "{\"text\":\"after\"}")
+                        .put("version", item.get("version").asLong())
+                        .toString()));
+
+        assertEquals("{\"text\":\"after\"}", changedSince(user, etag).get(0).get("data").asText());
+    }
+
+    @Test
+    void patchInvalidates() throws Exception {
+        TestUser user = newUser();
+        long id = createItem(user, "sticky_note", "{\"text\":\"moved\"}").get("id").asLong();
+        String etag = list(user).getHeader(HttpHeaders.ETAG);
+
+        write(user, patch("/api/items/" + id).contentType(MediaType.APPLICATION_JSON).content("{\"x\":75}"));
+
+        assertEquals(75.0, changedSince(user, etag).get(0).get("x").asDouble());
+    }
+
+    @Test
+    void deleteAndUndeleteInvalidate() throws Exception {
+        TestUser user = newUser();
+        long id = createItem(user, "sticky_note", "{\"text\":\"back and forth\"}").get("id").asLong();
+        String etag = list(user).getHeader(HttpHeaders.ETAG);
+
+        write(user, delete("/api/items/" + id));
+        assertEquals(0, changedSince(user, etag).size());
+
+        String deletedEtag = list(user).getHeader(HttpHeaders.ETAG);
+        write(user, put("/api/items/" + id + "/undelete"));
+        assertEquals(1, changedSince(user, deletedEtag).size());
+    }
+
+    @Test
+    void strokeAppendInvalidates() throws Exception {
+        TestUser user = newUser();
+        long id = createItem(user, StrokeCodec.FREE_DRAW, "{\"strokes\":[]}").get("id").asLong();
+        String etag = list(user).getHeader(HttpHeaders.ETAG);
+
+        write(user, post("/api/items/" + id + "/strokes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"points\":[0,0,10,10,20,0],\"color\":\"#222\",\"size\":3}"));
+
+        JsonNode data = objectMapper.readTree(changedSince(user, etag).get(0).get("data").asText());
+        assertEquals(1, data.get("strokes").size());
+    }
+
+    @Test
+    void batchInvalidates() throws Exception {
+        TestUser user = newUser();
+        createItem(user, "sticky_note", "{\"text\":\"first\"}");
+        String etag = list(user).getHeader(HttpHeaders.ETAG);
+
+        write(user, post("/api/items/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.createArrayNode().add(objectMapper.createObjectNode()
+                        .put("op", "create")
+                        .put("type", "sticky_note")
+                        .put("x", 10).put("y", 20).put("width", 200).put("height", 140).put("zIndex", 0)
+                        .put("data", "{\"text\":\"batched\"}")).toString()));
+
+        assertEquals(2, changedSince(user, etag).size());
+    }
+
+    @Test
+    void geometryUpdateAndItsFlushInvalidate() throws Exception {
+        TestUser user = newUser();
+        JsonNode item = createItem(user, "sticky_note", "{\"text\":\"dragged\"}");
+        long id = item.get("id").asLong();
+        String etag = list(user).getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/api/items/" + id + "/geometry")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"x\":50}"))
+                .andExpect(status().isAccepted());
+        JsonNode dragged = changedSince(user, etag).get(0);
+        assertEquals(50.0, dragged.get("x").asDouble());
+        assertEquals(item.get("version").asLong(), dragged.get("version").asLong());
+
+        // The flush changes nothing but the version, and that must not be served stale either
+        String draggedEtag = list(user).getHeader(HttpHeaders.ETAG);
+        geometryWriteBuffer.flush();
+        JsonNode flushed = changedSince(user, draggedEtag).get(0);
+        assertEquals(50.0, flushed.get("x").asDouble());
+        assertEquals(item.get("version").asLong() + 1, flushed.get("version").asLong());
+    }
+
+    private MockHttpServletResponse list(TestUser user) throws Exception {
+        return mockMvc.perform(get("/api/items").header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    // The listing revalidated against an ETag from before a write: a fresh 200, never a 304
+    private JsonNode changedSince(TestUser user, String etag) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/items")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertNotEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        JsonNode items = objectMapper.readTree(response.getContentAsByteArray());
+        assertTrue(items.isArray());
+        return items;
+    }
+
+    private void write(TestUser user, MockHttpServletRequestBuilder request) throws Exception {
+        mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,113 @@
+package com.backenddailyboard.dailyboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import com.backenddailyboard.dailyboard.ApiTestSupport;
+import com.backenddailyboard.dailyboard.model.CanvasItem;
+import com.backenddailyboard.dailyboard.repository.CanvasItemRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * PUT /api/items/{id}/geometry through the write-behind buffer, flushed by hand; the
+ * scheduled flush is pushed out of the way so each test decides when rows are written.
+ */
+@TestPropertySource(properties = "items.write-behind.flush-interval-ms=3600000")
+class GeometryWriteBufferTest extends ApiTestSupport {
+
+    @Autowired
+    private GeometryWriteBuffer geometryWriteBuffer;
+
+    @Autowired
+    private CanvasItemRepository canvasItemRepository;
+
+    @Test
+    void dragsAreMergedReadBackAndFlushedAsOneWrite() throws Exception {
+        TestUser user = newUser();
+        JsonNode item = createItem(user, "sticky_note", "{\"text\":\"dragged\"}");
+        long id = item.get("id").asLong();
+        long version = item.get("version").asLong();
+
+        drag(user, id, "{\"x\":50}");
+        drag(user, id, "{\"y\":60,\"width\":300}");
+
+        // Reads see the buffered geometry before it is written
+        JsonNode listed = list(user).get(0);
+        assertEquals(50.0, listed.get("x").asDouble());
+        assertEquals(60.0, listed.get("y").asDouble());
+        assertEquals(300.0, listed.get("width").asDouble());
+        assertEquals(10.0, row(id).getX());
+
+        geometryWriteBuffer.flush();
+
+        CanvasItem row = row(id);
+        assertEquals(50.0, row.getX());
+        assertEquals(60.0, row.getY());
+        assertEquals(300.0, row.getWidth());
+        assertEquals(140.0, row.getHeight());
+        assertEquals("{\"text\":\"dragged\"}", row.getData());
+        assertEquals(version + 1, row.getVersion());
+    }
+
+    @Test
+    void dragOfAnotherUsersItemIsNeverWritten() throws Exception {
+        TestUser owner = newUser();
+        JsonNode item = createItem(owner, "sticky_note", "{\"text\":\"mine\"}");
+        long id = item.get("id").asLong();
+
+        drag(newUser(), id, "{\"x\":999}");
+        geometryWriteBuffer.flush();
+
+        CanvasItem row = row(id);
+        assertEquals(10.0, row.getX());
+        assertEquals(item.get("version").asLong(), row.getVersion());
+        assertEquals(10.0, list(owner).get(0).get("x").asDouble());
+    }
+
+    @Test
+    void fullWriteSupersedesABufferedDrag() throws Exception {
+        TestUser user = newUser();
+        long id = createItem(user, "sticky_note", "{\"text\":\"moved\"}").get("id").asLong();
+
+        drag(user, id, "{\"x\":50}");
+        mockMvc.perform(put("/api/items/" + id)
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.createObjectNode()
+                                .put("type", "sticky_note")
+                                .put("x", 99).put("y", 20).put("width", 200).put("height", 140).put("zIndex", 0)
+                                .put("data", "{\"text\":\"moved\"}")
+                                .toString()))
+                .andExpect(status().isOk());
+        geometryWriteBuffer.flush();
+
+        assertEquals(99.0, row(id).getX());
+    }
+
+    private void drag(TestUser user, long id, String geometry) throws Exception {
+        mockMvc.perform(put("/api/items/" + id + "/geometry")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(geometry))
+                .andExpect(status().isAccepted());
+    }
+
+    private JsonNode list(TestUser user) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/api/items")
+                        .header(HttpHeaders.AUTHORIZATION, user.authorization()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+
+    private CanvasItem row(long id) {
+        return canvasItemRepository.findById(id).orElseThrow();
+    }
+}
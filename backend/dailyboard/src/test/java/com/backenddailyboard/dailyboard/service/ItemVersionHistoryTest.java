@@ -0,0 +1,80 @@
+package com.backenddailyboard.dailyboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.backenddailyboard.dailyboard.service.ItemVersionHistory.Revision;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ItemVersionHistoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ItemVersionHistory history = new ItemVersionHistory(meterRegistry, 1 << 20, 3);
+
+    @Test
+    void findsTheNewestRevisionAtOrBelowTheVersion() {
+        history.record(1L, revision(1, "a"));
+        history.record(1L, revision(3, "b"));
+        history.record(1L, revision(5, "c"));
+
+        assertEquals("a", history.find(1L, 2).data());
+        assertEquals("b", history.find(1L, 3).data());
+        assertEquals("b", history.find(1L, 4).data());
+        assertEquals("c", history.find(1L, 9).data());
+    }
+
+    @Test
+    void missesWhatItNeverSaw() {
+        history.record(1L, revision(4, "a"));
+
+        assertNull(history.find(1L, 3));
+        assertNull(history.find(2L, 4));
+    }
+
+    @Test
+    void keepsOnlyTheLastRevisionsPerItem() {
+        for (int version = 1; version <= 5; version++) {
+            history.record(1L, revision(version, "v" + version));
+        }
+
+        assertNull(history.find(1L, 2));
+        assertEquals("v3", history.find(1L, 3).data());
+        assertEquals("v5", history.find(1L, 5).data());
+    }
+
+    @Test
+    void reusedVersionReplacesNewerEntries() {
+        history.record(1L, revision(1, "a"));
+        history.record(1L, revision(2, "rolled back"));
+        history.record(1L, revision(3, "rolled back too"));
+        history.record(1L, revision(2, "b"));
+
+        assertEquals("a", history.find(1L, 1).data());
+        assertEquals("b", history.find(1L, 2).data());
+        assertEquals("b", history.find(1L, 3).data());
+    }
+
+    @Test
+    void forgetDropsTheItem() {
+        history.record(1L, revision(1, "a"));
+        history.record(2L, revision(1, "b"));
+
+        history.forget(1L);
+
+        assertNull(history.find(1L, 1));
+        assertEquals("b", history.find(2L, 1).data());
+    }
+
+    @Test
+    void cacheIsMonitored() {
+        assertNotNull(meterRegistry.find("cache.size").tag("cache", "items.history").gauge());
+    }
+
+    private static Revision revision(long version, String data) {
+        return new Revision(version, "sticky_note", 0, 0, 200, 140, 0, data);
+    }
+}
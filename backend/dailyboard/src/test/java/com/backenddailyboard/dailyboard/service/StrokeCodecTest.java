@@ -0,0 +1,138 @@
+package com.backenddailyboard.dailyboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class StrokeCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private StrokeCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        codec = new StrokeCodec(objectMapper);
+        ReflectionTestUtils.setField(codec, "tolerance", 0.5);
+        ReflectionTestUtils.setField(codec, "scale", 10);
+    }
+
+    @Test
+    void varintsRoundTripLargeAndNegativeDeltas() throws Exception {
+        ReflectionTestUtils.setField(codec, "tolerance", 0.0);
+        double[] points = { 0, 0, 1000.5, -2000.3, -5, 7, 123456.7, 0.1, -123456.7, -0.1 };
+
+        String encoded = codec.encode(strokes(points));
+
+        assertTrue(StrokeCodec.isEncoded(encoded));
+        assertArrayEquals(points, points(codec.decode(encoded, null), 0), 1e-9);
+    }
+
+    @Test
+    void pointsAreQuantizedToTheScale() throws Exception {
+        ReflectionTestUtils.setField(codec, "tolerance", 0.0);
+
+        String encoded = codec.encode(strokes(new double[] { 1.234, 5.678, 9.99, -0.06 }));
+
+        assertArrayEquals(new double[] { 1.2, 5.7, 10.0, -0.1 }, points(codec.decode(encoded, null), 0), 1e-9);
+    }
+
+    @Test
+    void simplifyDropsPointsWithinTolerance() {
+        double[] line = { 0, 0, 1, 0.1, 2, -0.1, 3, 0.05, 4, 0 };
+        assertArrayEquals(new double[] { 0, 0, 4, 0 }, StrokeCodec.simplify(line, 0.5));
+
+        double[] corner = { 0, 0, 5, 0, 5, 5 };
+        assertArrayEquals(corner, StrokeCodec.simplify(corner, 0.5));
+        assertArrayEquals(line, StrokeCodec.simplify(line, 0));
+    }
+
+    @Test
+    void encodingSimplifiesAndKeepsAttributes() throws Exception {
+        String data = "{\"strokes\":[{\"points\":[0,0,1,0.1,2,0,3,0.1,4,0],"
+                + "\"color\":\"#222222\",\"size\":3,\"eraser\":false}]}";
+
+        JsonNode stroke = objectMapper.readTree(codec.decode(codec.encode(data), null)).path("strokes").get(0);
+
+        assertArrayEquals(new double[] { 0, 0, 4, 0 }, points(stroke));
+        assertEquals("#222222", stroke.path("color").asText());
+        assertEquals(3, stroke.path("size").asInt());
+        assertTrue(stroke.has("eraser"));
+    }
+
+    @Test
+    void zoomedOutReadsSimplifyFurther() throws Exception {
+        double[] wave = new double[200];
+        for (int i = 0; i < wave.length / 2; i++) {
+            wave[2 * i] = i;
+            wave[2 * i + 1] = Math.round(Math.sin(i / 5.0) * 20) / 10.0;
+        }
+        ReflectionTestUtils.setField(codec, "tolerance", 0.0);
+        String encoded = codec.encode(strokes(wave));
+        ReflectionTestUtils.setField(codec, "tolerance", 0.5);
+
+        int full = points(codec.decode(encoded, null), 0).length;
+        int zoomed = points(codec.decode(encoded, 0.25), 0).length;
+
+        assertEquals(wave.length, full);
+        assertTrue(zoomed < full, zoomed + " >= " + full);
+    }
+
+    @Test
+    void appendedLinesDecodeAsExtraStrokes() throws Exception {
+        String encoded = codec.encode(strokes(new double[] { 0, 0, 10, 10 }))
+                + codec.encodeLines(strokes(new double[] { 5, 5, 6, 8 }));
+
+        JsonNode decoded = objectMapper.readTree(codec.decode(encoded, null)).path("strokes");
+
+        assertEquals(2, decoded.size());
+        assertArrayEquals(new double[] { 5, 5, 6, 8 }, points(decoded.get(1)));
+    }
+
+    @Test
+    void decodesWithTheScaleItWasEncodedAt() throws Exception {
+        ReflectionTestUtils.setField(codec, "scale", 100);
+        String encoded = codec.encode(strokes(new double[] { 1.25, 2.5, 3.75, 4 }));
+        ReflectionTestUtils.setField(codec, "scale", 10);
+
+        assertEquals(100, codec.scaleOf(encoded));
+        assertArrayEquals(new double[] { 1.25, 2.5, 3.75, 4 }, points(codec.decode(encoded, null), 0), 1e-9);
+    }
+
+    @Test
+    void otherDataIsLeftAlone() throws Exception {
+        String note = "{\"text\":\"hello\"}";
+        assertEquals(note, codec.encode(note));
+        assertEquals("not json", codec.encode("not json"));
+        assertNull(codec.encode(null));
+        assertNull(codec.encodeLines("{\"points\":[1,2,3]}"));
+
+        String encoded = codec.encode(strokes(new double[] { 0, 0, 1, 1 }));
+        assertEquals(encoded, codec.encode(encoded));
+        assertEquals(note, codec.decode(note, null));
+    }
+
+    private String strokes(double[] points) throws Exception {
+        return "{\"strokes\":[{\"points\":" + objectMapper.writeValueAsString(points) + ",\"color\":\"#000\"}]}";
+    }
+
+    private double[] points(String decoded, int stroke) throws Exception {
+        return points(objectMapper.readTree(decoded).path("strokes").get(stroke));
+    }
+
+    private static double[] points(JsonNode stroke) {
+        JsonNode array = stroke.path("points");
+        double[] points = new double[array.size()];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = array.get(i).asDouble();
+        }
+        return points;
+    }
+}
@@ -0,0 +1,76 @@
+package com.backenddailyboard.dailyboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.backenddailyboard.dailyboard.model.AuthenticatedUser;
+import com.backenddailyboard.dailyboard.model.User;
+import com.backenddailyboard.dailyboard.repository.UserRepository;
+
+class UserLookupCacheTest {
+
+    private final UserRepository repo = mock(UserRepository.class);
+    private final UserLookupCache cache = new UserLookupCache(repo, 100, 300);
+
+    @Test
+    void knownUserIsLookedUpOnce() {
+        when(repo.findByGoogleId("g-1")).thenReturn(Optional.of(user(7L, "g-1", null)));
+
+        AuthenticatedUser first = cache.resolve("g-1").orElseThrow();
+        AuthenticatedUser second = cache.resolve("g-1").orElseThrow();
+
+        assertEquals(7L, first.getId());
+        assertEquals("g-1", second.getName());
+        verify(repo, times(1)).findByGoogleId("g-1");
+    }
+
+    @Test
+    void unknownUserIsNotCached() {
+        when(repo.findByGoogleId("g-2")).thenReturn(Optional.empty());
+
+        assertTrue(cache.resolve("g-2").isEmpty());
+
+        // Signs up between two requests
+        when(repo.findByGoogleId("g-2")).thenReturn(Optional.of(user(8L, "g-2", null)));
+        assertEquals(8L, cache.resolve("g-2").orElseThrow().getId());
+        verify(repo, times(2)).findByGoogleId("g-2");
+    }
+
+    @Test
+    void evictedUserIsReloaded() {
+        when(repo.findByGoogleId("g-3")).thenReturn(Optional.of(user(9L, "g-3", null)));
+        cache.resolve("g-3");
+
+        when(repo.findByGoogleId("g-3")).thenReturn(Optional.of(user(9L, "g-3", 5)));
+        cache.evict("g-3");
+
+        assertEquals(5, cache.resolve("g-3").orElseThrow().getTrashLimit());
+        verify(repo, times(2)).findByGoogleId("g-3");
+    }
+
+    @Test
+    void zeroTtlAlwaysReloads() {
+        UserLookupCache uncached = new UserLookupCache(repo, 100, 0);
+        when(repo.findByGoogleId("g-4")).thenReturn(Optional.of(user(10L, "g-4", null)));
+
+        uncached.resolve("g-4");
+        uncached.resolve("g-4");
+
+        verify(repo, times(2)).findByGoogleId("g-4");
+    }
+
+    private static User user(Long id, String googleId, Integer trashLimit) {
+        User user = new User(googleId, "Test", googleId + "@example.com");
+        user.setId(id);
+        user.setTrashLimit(trashLimit);
+        return user;
+    }
+}
@@ -0,0 +1,89 @@
+package com.backenddailyboard.dailyboard.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class ContentCodingTest {
+
+    @Test
+    void identityWithoutAcceptableCoding() {
+        assertNull(ContentCoding.negotiate(null, true));
+        assertNull(ContentCoding.negotiate("", true));
+        assertNull(ContentCoding.negotiate("br, deflate", true));
+        assertNull(ContentCoding.negotiate("gzip;q=0", true));
+        assertNull(ContentCoding.negotiate("gzip; q=0.0, *;q=0", true));
+    }
+
+    @Test
+    void gzipWhenZstdIsOffOrNotAsked() {
+        assertEquals(ContentCoding.GZIP, ContentCoding.negotiate("gzip, deflate, br", true));
+        assertEquals(ContentCoding.GZIP, ContentCoding.negotiate("*", true));
+        assertEquals(ContentCoding.GZIP, ContentCoding.negotiate("zstd, gzip", false));
+        assertNull(ContentCoding.negotiate("zstd", false));
+    }
+
+    @Test
+    void higherQualityWinsAndZstdWinsTies() {
+        assumeTrue(zstdAvailable());
+        assertEquals(ContentCoding.ZSTD, ContentCoding.negotiate("gzip, zstd", true));
+        assertEquals(ContentCoding.ZSTD, ContentCoding.negotiate("gzip;q=0.5, zstd;q=0.8", true));
+        assertEquals(ContentCoding.GZIP, ContentCoding.negotiate("gzip, zstd;q=0.5", true));
+        assertEquals(ContentCoding.GZIP, ContentCoding.negotiate("zstd;q=0, gzip;q=0.1", true));
+        assertEquals(ContentCoding.ZSTD, ContentCoding.negotiate("zstd, *;q=0.5", true));
+    }
+
+    @Test
+    void strongEtagsGetTheCodingSuffix() {
+        assertEquals("\"abc-gzip\"", ContentCoding.GZIP.etag("\"abc\""));
+        assertEquals("\"abc-zstd\"", ContentCoding.ZSTD.etag("\"abc\""));
+        assertEquals("W/\"abc\"", ContentCoding.GZIP.etag("W/\"abc\""));
+        assertNull(ContentCoding.GZIP.etag(null));
+    }
+
+    @Test
+    void identityEtagStripsTheSuffix() {
+        for (ContentCoding coding : ContentCoding.values()) {
+            assertEquals("\"abc\"", ContentCoding.identityEtag(coding.etag("\"abc\"")));
+        }
+        assertEquals("\"abc\"", ContentCoding.identityEtag("\"abc\""));
+    }
+
+    @Test
+    void requestCodingsByToken() {
+        assertEquals(ContentCoding.GZIP, ContentCoding.forToken("gzip"));
+        assertEquals(ContentCoding.GZIP, ContentCoding.forToken(" X-GZIP "));
+        assertNull(ContentCoding.forToken("br"));
+    }
+
+    @Test
+    void encoderAndDecoderRoundTrip() throws IOException {
+        byte[] body = "{\"items\":[]}".repeat(500).getBytes(StandardCharsets.UTF_8);
+        for (ContentCoding coding : ContentCoding.values()) {
+            if (coding == ContentCoding.ZSTD && !zstdAvailable()) {
+                continue;
+            }
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (OutputStream out = coding.encoder(compressed, 3)) {
+                out.write(body);
+            }
+            try (InputStream in = coding.decoder(new ByteArrayInputStream(compressed.toByteArray()))) {
+                assertEquals(new String(body, StandardCharsets.UTF_8),
+                        new String(in.readAllBytes(), StandardCharsets.UTF_8), coding.getToken());
+            }
+        }
+    }
+
+    private static boolean zstdAvailable() {
+        return ContentCoding.forToken("zstd") == ContentCoding.ZSTD;
+    }
+}
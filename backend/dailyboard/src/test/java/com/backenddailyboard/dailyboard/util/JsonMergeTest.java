@@ -0,0 +1,103 @@
+package com.backenddailyboard.dailyboard.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class JsonMergeTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void changesToDifferentFieldsMerge() throws Exception {
+        assertMerged("{\"text\":\"b\",\"color\":\"red\",\"fontSize\":16}",
+                "{\"text\":\"a\",\"color\":\"white\",\"fontSize\":16}",
+                "{\"text\":\"b\",\"color\":\"white\",\"fontSize\":16}",
+                "{\"text\":\"a\",\"color\":\"red\",\"fontSize\":16}");
+    }
+
+    @Test
+    void sameChangeOnBothSidesIsNoConflict() throws Exception {
+        assertMerged("{\"text\":\"b\"}", "{\"text\":\"a\"}", "{\"text\":\"b\"}", "{\"text\":\"b\"}");
+    }
+
+    @Test
+    void unchangedIncomingKeepsCurrent() throws Exception {
+        assertMerged("{\"text\":\"b\"}", "{\"text\":\"a\"}", "{\"text\":\"b\"}", "{\"text\":\"a\"}");
+    }
+
+    @Test
+    void differentChangesToTheSameFieldConflict() throws Exception {
+        assertConflict("{\"text\":\"a\"}", "{\"text\":\"b\"}", "{\"text\":\"c\"}");
+        assertConflict("{\"points\":[1,2]}", "{\"points\":[1,3]}", "{\"points\":[1,4]}");
+    }
+
+    @Test
+    void removedFieldStaysRemovedUnlessEdited() throws Exception {
+        assertMerged("{\"text\":\"b\"}", "{\"text\":\"a\",\"color\":\"red\"}",
+                "{\"text\":\"b\",\"color\":\"red\"}", "{\"text\":\"a\"}");
+        assertConflict("{\"color\":\"red\"}", "{\"color\":\"blue\"}", "{}");
+    }
+
+    @Test
+    void todoItemsMergeById() throws Exception {
+        String base = todos("{\"id\":\"1\",\"text\":\"milk\",\"completed\":false}",
+                "{\"id\":\"2\",\"text\":\"eggs\",\"completed\":false}",
+                "{\"id\":\"3\",\"text\":\"bread\",\"completed\":false}");
+        // Current ticked 1 and added 4; incoming renamed 2, removed 3 and added 5
+        String current = todos("{\"id\":\"1\",\"text\":\"milk\",\"completed\":true}",
+                "{\"id\":\"2\",\"text\":\"eggs\",\"completed\":false}",
+                "{\"id\":\"3\",\"text\":\"bread\",\"completed\":false}",
+                "{\"id\":\"4\",\"text\":\"jam\",\"completed\":false}");
+        String incoming = todos("{\"id\":\"1\",\"text\":\"milk\",\"completed\":false}",
+                "{\"id\":\"2\",\"text\":\"6 eggs\",\"completed\":false}",
+                "{\"id\":\"5\",\"text\":\"tea\",\"completed\":false}");
+
+        assertMerged(todos("{\"id\":\"1\",\"text\":\"milk\",\"completed\":true}",
+                "{\"id\":\"2\",\"text\":\"6 eggs\",\"completed\":false}",
+                "{\"id\":\"4\",\"text\":\"jam\",\"completed\":false}",
+                "{\"id\":\"5\",\"text\":\"tea\",\"completed\":false}"), base, current, incoming);
+    }
+
+    @Test
+    void removingAnEditedTodoConflicts() throws Exception {
+        String base = todos("{\"id\":\"1\",\"text\":\"milk\",\"completed\":false}");
+        String current = todos("{\"id\":\"1\",\"text\":\"milk\",\"completed\":true}");
+        String incoming = todos();
+
+        assertConflict(base, current, incoming);
+    }
+
+    @Test
+    void arraysWithoutUniqueIdsConflict() throws Exception {
+        assertConflict(todos("{\"id\":\"1\"}", "{\"id\":\"1\"}"),
+                todos("{\"id\":\"1\"}", "{\"id\":\"1\"}", "{\"id\":\"2\"}"),
+                todos("{\"id\":\"1\"}", "{\"id\":\"1\"}", "{\"id\":\"3\"}"));
+        assertConflict("{\"items\":[\"a\"]}", "{\"items\":[\"a\",\"b\"]}", "{\"items\":[\"a\",\"c\"]}");
+    }
+
+    private void assertMerged(String expected, String base, String current, String incoming) throws Exception {
+        Optional<JsonNode> merged = merge(base, current, incoming);
+        assertTrue(merged.isPresent(), "unexpected conflict");
+        assertEquals(objectMapper.readTree(expected), merged.get());
+    }
+
+    private void assertConflict(String base, String current, String incoming) throws Exception {
+        assertTrue(merge(base, current, incoming).isEmpty(), "expected a conflict");
+    }
+
+    private Optional<JsonNode> merge(String base, String current, String incoming) throws Exception {
+        return JsonMerge.threeWay(objectMapper.readTree(base), objectMapper.readTree(current),
+                objectMapper.readTree(incoming));
+    }
+
+    private static String todos(String... items) {
+        return "{\"title\":\"Shopping\",\"items\":[" + String.join(",", items) + "]}";
+    }
+}
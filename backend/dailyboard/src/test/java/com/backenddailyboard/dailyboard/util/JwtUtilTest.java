@@ -0,0 +1,71 @@
+package com.backenddailyboard.dailyboard.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "testSecretKeyThatIsLongEnoughForHS256Signing!";
+
+    private final JwtUtil jwtUtil = jwtUtil(SECRET, 60_000L);
+
+    @Test
+    void verifiesItsOwnToken() {
+        JwtClaims claims = jwtUtil.verify(jwtUtil.generateToken("g-1", "a@example.com")).orElseThrow();
+
+        assertEquals("g-1", claims.getUserId());
+        assertEquals("a@example.com", claims.getEmail());
+        assertFalse(claims.isExpired());
+    }
+
+    @Test
+    void repeatedVerificationIsServedFromTheCache() {
+        String token = jwtUtil.generateToken("g-1", "a@example.com");
+
+        assertSame(jwtUtil.verify(token).orElseThrow(), jwtUtil.verify(token).orElseThrow());
+    }
+
+    @Test
+    void swappedPayloadIsRejected() {
+        String[] mine = jwtUtil.generateToken("g-1", "a@example.com").split("\\.");
+        String[] theirs = jwtUtil.generateToken("g-2", "b@example.com").split("\\.");
+
+        assertTrue(jwtUtil.verify(mine[0] + "." + theirs[1] + "." + mine[2]).isEmpty());
+    }
+
+    @Test
+    void tokenOfAnotherKeyIsRejected() {
+        JwtUtil other = jwtUtil("anotherSecretKeyThatIsLongEnoughForHS256Signing", 60_000L);
+
+        assertTrue(jwtUtil.verify(other.generateToken("g-1", "a@example.com")).isEmpty());
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        JwtUtil expiring = jwtUtil(SECRET, -1_000L);
+
+        assertTrue(jwtUtil.verify(expiring.generateToken("g-1", "a@example.com")).isEmpty());
+    }
+
+    @Test
+    void missingOrMalformedTokenIsRejected() {
+        assertTrue(jwtUtil.verify(null).isEmpty());
+        assertTrue(jwtUtil.verify("").isEmpty());
+        assertTrue(jwtUtil.verify("not.a.token").isEmpty());
+        assertFalse(jwtUtil.validateToken("not.a.token"));
+    }
+
+    private static JwtUtil jwtUtil(String secret, long expiration) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", secret);
+        ReflectionTestUtils.setField(util, "expiration", expiration);
+        ReflectionTestUtils.setField(util, "verifiedCacheSize", 100L);
+        util.init();
+        return util;
+    }
+}
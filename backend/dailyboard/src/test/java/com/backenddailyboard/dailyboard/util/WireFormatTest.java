@@ -0,0 +1,44 @@
+package com.backenddailyboard.dailyboard.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class WireFormatTest {
+
+    @Test
+    void defaultsToJsonWithoutAUsableAccept() {
+        assertEquals(WireFormat.JSON, WireFormat.negotiate(null));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate(""));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("*/*"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("text/html"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("not a media type;;"));
+    }
+
+    @Test
+    void picksTheNamedFormat() {
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("application/cbor"));
+        assertEquals(WireFormat.SMILE, WireFormat.negotiate("application/x-jackson-smile"));
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("text/html, application/cbor"));
+    }
+
+    @Test
+    void higherQualityWins() {
+        assertEquals(WireFormat.SMILE,
+                WireFormat.negotiate("application/cbor;q=0.5, application/x-jackson-smile;q=0.9"));
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("application/json;q=0.1, application/cbor"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("application/cbor;q=0.2, */*;q=0.8"));
+    }
+
+    @Test
+    void equalQualityKeepsTheClientsOrder() {
+        assertEquals(WireFormat.SMILE, WireFormat.negotiate("application/x-jackson-smile, application/cbor"));
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("application/cbor, application/x-jackson-smile"));
+    }
+
+    @Test
+    void zeroQualityIsNeverPicked() {
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("application/cbor;q=0"));
+        assertEquals(WireFormat.SMILE, WireFormat.negotiate("application/cbor;q=0, application/x-jackson-smile;q=0.1"));
+    }
+}
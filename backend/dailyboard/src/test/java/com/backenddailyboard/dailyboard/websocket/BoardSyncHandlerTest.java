@@ -0,0 +1,169 @@
+package com.backenddailyboard.dailyboard.websocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.backenddailyboard.dailyboard.event.BoardChangeEvent;
+import com.backenddailyboard.dailyboard.event.BoardChangeEvent.Kind;
+import com.backenddailyboard.dailyboard.model.AuthenticatedUser;
+import com.backenddailyboard.dailyboard.service.GeometryWriteBuffer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Per-socket queueing of BoardSyncHandler, ticked by hand: patches to one item coalesce
+ * within a tick, other changes keep their order, overflow turns into a single resync.
+ */
+class BoardSyncHandlerTest {
+
+    private static final long USER_ID = 1L;
+    private static final long ITEM_ID = 10L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BoardSyncHandler handler = handler(100);
+
+    @Test
+    void patchesToOneItemAreSentAsOneMessagePerTick() throws Exception {
+        WebSocketSession socket = connect(handler, "s1", USER_ID);
+
+        handler.onBoardChange(patch(ITEM_ID, Map.of("x", 1, "y", 1)));
+        handler.onBoardChange(patch(ITEM_ID, Map.of("x", 2)));
+        handler.onBoardChange(patch(ITEM_ID, Map.of("width", 300)));
+        handler.tick();
+
+        JsonNode messages = sent(socket).get(0);
+        assertEquals(1, messages.size());
+        JsonNode item = messages.get(0).get("item");
+        assertEquals("patch", messages.get(0).get("type").asText());
+        assertEquals(2, item.get("x").asInt());
+        assertEquals(1, item.get("y").asInt());
+        assertEquals(300, item.get("width").asInt());
+    }
+
+    @Test
+    void otherChangesBreakCoalescingAndKeepTheirOrder() throws Exception {
+        WebSocketSession socket = connect(handler, "s1", USER_ID);
+
+        handler.onBoardChange(patch(ITEM_ID, Map.of("x", 1)));
+        handler.onBoardChange(new BoardChangeEvent(USER_ID, ITEM_ID, Kind.DELETE, null));
+        handler.onBoardChange(patch(ITEM_ID, Map.of("x", 2)));
+        handler.onBoardChange(patch(ITEM_ID + 1, Map.of("x", 3)));
+        handler.tick();
+
+        JsonNode messages = sent(socket).get(0);
+        assertEquals(List.of("patch", "delete", "patch", "patch"), types(messages));
+        assertEquals(1, messages.get(0).get("item").get("x").asInt());
+        assertEquals(2, messages.get(2).get("item").get("x").asInt());
+        assertEquals(ITEM_ID + 1, messages.get(3).get("id").asLong());
+    }
+
+    @Test
+    void appendedStrokesAddUpUntilFullDataReplacesThem() throws Exception {
+        WebSocketSession socket = connect(handler, "s1", USER_ID);
+
+        handler.onBoardChange(patch(ITEM_ID, Map.of("appendedStrokes", List.of("a"))));
+        handler.onBoardChange(patch(ITEM_ID, Map.of("appendedStrokes", List.of("b"))));
+        handler.onBoardChange(patch(ITEM_ID + 1, Map.of("appendedStrokes", List.of("c"))));
+        handler.onBoardChange(patch(ITEM_ID + 1, Map.of("data", "{\"strokes\":[]}")));
+        handler.tick();
+
+        JsonNode messages = sent(socket).get(0);
+        assertEquals(2, messages.size());
+        assertEquals("[\"a\",\"b\"]", messages.get(0).get("item").get("appendedStrokes").toString());
+        assertFalse(messages.get(1).get("item").has("appendedStrokes"));
+        assertEquals("{\"strokes\":[]}", messages.get(1).get("item").get("data").asText());
+    }
+
+    @Test
+    void changeIsNotEchoedToTheSocketItCameFrom() throws Exception {
+        WebSocketSession origin = connect(handler, "s1", USER_ID);
+        WebSocketSession other = connect(handler, "s2", USER_ID);
+        WebSocketSession otherUser = connect(handler, "s3", USER_ID + 1);
+
+        handler.onBoardChange(new BoardChangeEvent(USER_ID, ITEM_ID, Kind.PATCH, Map.of("x", 1), "s1"));
+        handler.tick();
+
+        verify(origin, never()).sendMessage(any());
+        verify(otherUser, never()).sendMessage(any());
+        assertEquals(1, sent(other).get(0).size());
+    }
+
+    @Test
+    void overflowingQueueIsReplacedByOneResync() throws Exception {
+        BoardSyncHandler smallQueue = handler(2);
+        WebSocketSession socket = connect(smallQueue, "s1", USER_ID);
+
+        for (long id = 0; id < 5; id++) {
+            smallQueue.onBoardChange(new BoardChangeEvent(USER_ID, id, Kind.DELETE, null));
+        }
+        smallQueue.tick();
+        smallQueue.onBoardChange(new BoardChangeEvent(USER_ID, ITEM_ID, Kind.DELETE, null));
+        smallQueue.tick();
+
+        List<JsonNode> frames = sent(socket);
+        assertEquals(List.of("resync"), types(frames.get(0)));
+        // Queueing resumes after the resync went out
+        assertEquals(List.of("delete"), types(frames.get(1)));
+    }
+
+    private BoardSyncHandler handler(int maxQueuedEvents) {
+        BoardSyncHandler handler = new BoardSyncHandler(objectMapper, mock(GeometryWriteBuffer.class),
+                mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(handler, "sendTimeLimitMs", 5000);
+        ReflectionTestUtils.setField(handler, "sendBufferBytes", 524288);
+        ReflectionTestUtils.setField(handler, "maxQueuedEvents", maxQueuedEvents);
+        return handler;
+    }
+
+    private WebSocketSession connect(BoardSyncHandler handler, String sessionId, long userId) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(JwtHandshakeInterceptor.USER_ATTRIBUTE,
+                new AuthenticatedUser(userId, "g-" + userId, userId + "@example.com", "Test", null));
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(sessionId);
+        when(session.getAttributes()).thenReturn(attributes);
+        when(session.isOpen()).thenReturn(true);
+        handler.afterConnectionEstablished(session);
+        return session;
+    }
+
+    private BoardChangeEvent patch(long itemId, Map<String, Object> fields) {
+        return new BoardChangeEvent(USER_ID, itemId, Kind.PATCH, new LinkedHashMap<>(fields));
+    }
+
+    // Every frame sent to the socket, each a JSON array of messages
+    private List<JsonNode> sent(WebSocketSession session) throws Exception {
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, atLeastOnce()).sendMessage(captor.capture());
+        List<JsonNode> frames = new ArrayList<>();
+        for (TextMessage message : captor.getAllValues()) {
+            frames.add(objectMapper.readTree(message.getPayload()));
+        }
+        return frames;
+    }
+
+    private List<String> types(JsonNode messages) {
+        List<String> types = new ArrayList<>();
+        messages.forEach(message -> types.add(message.get("type").asText()));
+        return types;
+    }
+}